@@ -0,0 +1,15 @@
+package org.project.issueevents.events;
+
+import java.time.Instant;
+
+import lombok.*;
+
+/** Tombstone of an issue that no longer exists in (or was moved out of) its Jira project. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueDeletedEvent {
+  private String projectKey;
+  private String issueKey;
+  private Instant deletedAt;
+}
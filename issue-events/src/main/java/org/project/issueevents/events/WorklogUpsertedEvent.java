@@ -0,0 +1,19 @@
+package org.project.issueevents.events;
+
+import java.time.Instant;
+
+import lombok.*;
+
+/** One Jira worklog, created, updated or ({@code deleted = true}) removed. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogUpsertedEvent {
+  private String worklogId;
+  private String projectKey;
+  private String issueKey;
+  private String author;
+  private Instant started;
+  private Long timeSpentSeconds;
+  private boolean deleted;
+}
@@ -0,0 +1,105 @@
+package org.project.jirafetchservice.mapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-issue cost of the mapping done on every sync. The {@code legacy*} benchmarks keep the
+ * previous implementations as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JiraMapperBenchmark {
+
+  private static final String JIRA_DATE = "2024-01-15T10:30:00.000+0100";
+  private static final String ISO_DATE = "2024-01-15T10:30:00.123+01:00";
+  private static final String ISSUE_KEY = "LOGISTICS-12345";
+
+  private final JiraMapper mapper = new JiraMapperImpl();
+  private JiraIssueApiResponse apiResponse;
+  private JiraIssueDbEntity dbEntity;
+
+  @Setup
+  public void setUp() {
+    JiraIssueApiResponse.Fields fields = new JiraIssueApiResponse.Fields();
+    fields.setSummary("Ship the weekly report");
+    fields.setCreated(JIRA_DATE);
+    fields.setUpdated(JIRA_DATE);
+    fields.setResolved(JIRA_DATE);
+    apiResponse = new JiraIssueApiResponse("10001", ISSUE_KEY, "https://jira.example.com/rest/api/3/issue/10001", fields);
+    dbEntity = mapper.toDbEntityFromApi(apiResponse);
+  }
+
+  @Benchmark
+  public LocalDateTime parseJiraDate() {
+    return mapper.parseJiraDate(JIRA_DATE);
+  }
+
+  @Benchmark
+  public LocalDateTime parseIsoDate() {
+    return mapper.parseJiraDate(ISO_DATE);
+  }
+
+  @Benchmark
+  public LocalDateTime legacyParseIsoDate() {
+    return legacyParseJiraDate(ISO_DATE);
+  }
+
+  @Benchmark
+  public LocalDateTime legacyParseJiraDate() {
+    return legacyParseJiraDate(JIRA_DATE);
+  }
+
+  @Benchmark
+  public String extractProjectKey() {
+    return mapper.extractProjectKey(ISSUE_KEY);
+  }
+
+  @Benchmark
+  public String legacyExtractProjectKey() {
+    return ISSUE_KEY.split("-")[0];
+  }
+
+  @Benchmark
+  public JiraIssueDbEntity toDbEntityFromApi() {
+    return mapper.toDbEntityFromApi(apiResponse);
+  }
+
+  @Benchmark
+  public IssueSimpleDto toSimpleDtoFromDb() {
+    return mapper.toSimpleDtoFromDb(dbEntity);
+  }
+
+  private static LocalDateTime legacyParseJiraDate(String dateString) {
+    try {
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+      return OffsetDateTime.parse(dateString, formatter).toLocalDateTime();
+    } catch (Exception e) {
+      try {
+        return OffsetDateTime.parse(dateString).toLocalDateTime();
+      } catch (Exception ex) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package org.project.jirafetchservice.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of importing {@value #IMPORT_ROWS} new issues with {@code COPY} or with the array upsert,
+ * one commit per batch, at the job batch size and at the bootstrap batch size. Needs a Postgres
+ * with {@code schema.sql} applied, given by {@code -Djira.bench.url} (and {@code .user},
+ * {@code .password}). The imported rows are deleted after each call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JiraIssueBulkWriterBenchmark {
+
+  private static final int IMPORT_ROWS = 5000;
+
+  @Param({"100", "5000"})
+  public int batchSize;
+
+  private Connection connection;
+  private String projectKey;
+  private List<JiraIssueDbEntity> issues;
+  private int run;
+
+  @Setup(Level.Trial)
+  public void connect() throws SQLException {
+    connection =
+        DriverManager.getConnection(
+            System.getProperty("jira.bench.url", "jdbc:postgresql://localhost:5432/postgres"),
+            System.getProperty("jira.bench.user", "postgres"),
+            System.getProperty("jira.bench.password", ""));
+    // The staging table outlives a transaction in production, create it once here as well
+    JiraIssueBulkWriter.copyLoad(connection, issues("WARMUP", 1));
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DELETE FROM jira_issue WHERE project_key = 'WARMUP'");
+    }
+    connection.setAutoCommit(false);
+  }
+
+  @Setup(Level.Invocation)
+  public void newKeys() {
+    projectKey = "BENCH" + run++;
+    issues = issues(projectKey, IMPORT_ROWS);
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteImported() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DELETE FROM jira_issue WHERE project_key = '" + projectKey + "'");
+    }
+    connection.commit();
+  }
+
+  @TearDown(Level.Trial)
+  public void close() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public int copyLoad() throws SQLException {
+    int inserted = 0;
+    for (int i = 0; i < issues.size(); i += batchSize) {
+      inserted += JiraIssueBulkWriter.copyLoad(connection, issues.subList(i, i + batchSize)).size();
+      connection.commit();
+    }
+    return inserted;
+  }
+
+  @Benchmark
+  public int upsert() throws SQLException {
+    int inserted = 0;
+    for (int i = 0; i < issues.size(); i += batchSize) {
+      inserted += JiraIssueBulkWriter.upsert(connection, issues.subList(i, i + batchSize)).size();
+      connection.commit();
+    }
+    return inserted;
+  }
+
+  private static List<JiraIssueDbEntity> issues(String projectKey, int count) {
+    LocalDateTime now = LocalDateTime.now();
+    List<JiraIssueDbEntity> issues = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      String issueKey = projectKey + "-" + i;
+      issues.add(
+          JiraIssueDbEntity.builder()
+              .issueKey(issueKey)
+              .jiraId(String.valueOf(100_000 + i))
+              .projectKey(projectKey)
+              .selfUrl("https://jira.example.com/rest/api/3/issue/" + (100_000 + i))
+              .summary("Ship the weekly report, part " + i)
+              .issueType("Task")
+              .status(i % 3 == 0 ? "Done" : "In Progress")
+              .statusCategory(i % 3 == 0 ? "done" : "indeterminate")
+              .priority("Medium")
+              .resolution(i % 3 == 0 ? "Done" : null)
+              .assignee("Jane Doe")
+              .assigneeEmail("jane.doe@example.com")
+              .reporter("John Roe")
+              .reporterEmail("john.roe@example.com")
+              .created(now.minusDays(30))
+              .updated(now.minusMinutes(i))
+              .resolved(i % 3 == 0 ? now.minusDays(1) : null)
+              .timeSpentSeconds(3_600L)
+              .originalEstimateSeconds(7_200L)
+              .remainingEstimateSeconds(3_600L)
+              .storyPoints(3.0)
+              .contentHash((long) issueKey.hashCode())
+              .eventHash((long) i)
+              .lastSyncedAt(now)
+              .nextRefreshAt(now.plusHours(1))
+              .changeIntervalSeconds(86_400L)
+              .build());
+    }
+    return issues;
+  }
+}
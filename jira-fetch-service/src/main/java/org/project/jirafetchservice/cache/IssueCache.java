@@ -0,0 +1,113 @@
+package org.project.jirafetchservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-process L1 cache of {@link IssueSimpleDto} in front of {@link JiraIssueRepository}, bounded
+ * in size and time. Sync paths refresh it once their transaction has committed, so readers never
+ * see data that could still be rolled back. Hit/miss statistics are exported under
+ * {@code cache.*{cache="jira.issues"}}.
+ */
+@Component
+public class IssueCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(IssueCache.class);
+
+  private final Cache<String, IssueSimpleDto> cache;
+  private final JiraIssueRepository jiraIssueRepository;
+  private final JiraMapper jiraMapper;
+  private final int warmUpSize;
+
+  public IssueCache(
+      JiraIssueRepository jiraIssueRepository,
+      JiraMapper jiraMapper,
+      MeterRegistry meterRegistry,
+      @Value("${jira.cache.issues.max-size:50000}") long maxSize,
+      @Value("${jira.cache.issues.ttl-minutes:30}") long ttlMinutes,
+      @Value("${jira.cache.issues.warm-up-size:5000}") int warmUpSize) {
+    this.jiraIssueRepository = jiraIssueRepository;
+    this.jiraMapper = jiraMapper;
+    this.warmUpSize = warmUpSize;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jira.issues");
+  }
+
+  /** @return the cached issue, or {@code null} on a miss */
+  public IssueSimpleDto get(String issueKey) {
+    return cache.getIfPresent(issueKey);
+  }
+
+  public void put(IssueSimpleDto issue) {
+    if (issue != null && issue.getIssueKey() != null) {
+      cache.put(issue.getIssueKey(), issue);
+    }
+  }
+
+  public void invalidate(String issueKey) {
+    cache.invalidate(issueKey);
+  }
+
+  /**
+   * Drops the issues right away and caches their new state once the surrounding transaction has
+   * committed (immediately when there is none).
+   */
+  public void refreshAfterCommit(Collection<IssueSimpleDto> issues) {
+    if (issues.isEmpty()) {
+      return;
+    }
+    List<IssueSimpleDto> snapshot = List.copyOf(issues);
+    snapshot.forEach(issue -> cache.invalidate(issue.getIssueKey()));
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      snapshot.forEach(this::put);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            snapshot.forEach(IssueCache.this::put);
+          }
+        });
+  }
+
+  /** Preloads the most recently updated issues, the ones most likely to be read. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (warmUpSize <= 0) {
+      return;
+    }
+    try {
+      jiraIssueRepository
+          .findByUpdatedNotNullOrderByUpdatedDesc(PageRequest.of(0, warmUpSize))
+          .forEach(entity -> put(jiraMapper.toSimpleDtoFromDb(entity)));
+      logger.info("Issue cache warmed up with {} issues", cache.estimatedSize());
+    } catch (Exception e) {
+      logger.warn("Issue cache warm-up failed: {}", e.getMessage());
+    }
+  }
+}
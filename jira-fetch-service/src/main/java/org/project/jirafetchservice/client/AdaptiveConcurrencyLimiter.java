@@ -0,0 +1,159 @@
+package org.project.jirafetchservice.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of concurrent Jira calls issued by this instance and adapts the cap with AIMD:
+ * every fast successful call grows the limit by {@code 1/limit} (roughly +1 per round trip), a
+ * throttled call (429/503) halves it and a slow call shrinks it by 10%. All Jira traffic goes
+ * through the same instance so concurrent syncs share the budget. Callers in the
+ * {@link SyncLane#BULK} lane yield to waiting interactive callers when a permit frees up.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private static final double THROTTLED_DECREASE = 0.5;
+    private static final double SLOW_DECREASE = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition permitReleased = lock.newCondition();
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private int waitingInteractive;
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${jira.client.limiter.initial-limit:8}") int initialLimit,
+            @Value("${jira.client.limiter.min-limit:1}") int minLimit,
+            @Value("${jira.client.limiter.max-limit:64}") int maxLimit,
+            @Value("${jira.client.limiter.latency-threshold-ms:2000}") long latencyThresholdMs) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+
+        Gauge.builder("jira.client.concurrency.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive limit of concurrent Jira calls")
+                .register(meterRegistry);
+        Gauge.builder("jira.client.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Jira calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("jira.client.concurrency.queue", this, AdaptiveConcurrencyLimiter::queueDepth)
+                .description("Callers waiting for a Jira call permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blocks until a call may be issued, in the lane of the current thread. Every successful
+     * acquire must be followed by a {@link #release} or a {@link #drop}.
+     */
+    public void acquire() throws InterruptedException {
+        boolean interactive = SyncLane.current() == SyncLane.INTERACTIVE;
+        lock.lock();
+        try {
+            waiting++;
+            if (interactive) {
+                waitingInteractive++;
+            }
+            try {
+                while (inFlight >= (int) limit || (!interactive && waitingInteractive > 0)) {
+                    permitReleased.await();
+                }
+            } finally {
+                waiting--;
+                if (interactive) {
+                    waitingInteractive--;
+                    // A bulk caller may have been skipped while this one was queued
+                    permitReleased.signalAll();
+                }
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit and feeds the call outcome into the limit.
+     *
+     * @param latency time until Jira answered
+     * @param throttled whether Jira asked us to slow down (429/503)
+     */
+    public void release(Duration latency, boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+            double previous = limit;
+            if (throttled) {
+                limit = Math.max(minLimit, limit * THROTTLED_DECREASE);
+            } else if (latency.toNanos() > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * SLOW_DECREASE);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            if ((int) previous != (int) limit) {
+                logger.debug("Jira concurrency limit {} -> {}", (int) previous, (int) limit);
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit of a call that never got an answer, e.g. because the caller was
+     * interrupted. Such a call says nothing about Jira's load, so the limit is left as is.
+     */
+    public void drop() {
+        lock.lock();
+        try {
+            inFlight--;
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double currentLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
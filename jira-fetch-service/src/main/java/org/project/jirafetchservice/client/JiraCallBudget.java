@@ -0,0 +1,156 @@
+package org.project.jirafetchservice.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket capping the rate of Jira calls. The configured rate is global: every running
+ * instance gets an equal part of it, see {@link #setInstanceCount(int)}.
+ *
+ * <p>Interactive calls take the next token first. Bulk calls wait their turn in a round robin
+ * over their {@link SyncLane#currentShare() share}, so a large project sync cannot starve the
+ * other projects being synced at the same time.
+ */
+@Component
+public class JiraCallBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraCallBudget.class);
+    private static final String DEFAULT_SHARE = "";
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final double globalRate;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private int waitingInteractive;
+    private final Map<String, Integer> waitingByShare = new HashMap<>();
+    private final ArrayDeque<String> turns = new ArrayDeque<>();
+
+    public JiraCallBudget(
+            MeterRegistry meterRegistry,
+            @Value("${jira.client.budget.calls-per-second:20}") double globalRate) {
+        this.globalRate = globalRate;
+        this.rate = globalRate;
+        this.tokens = Math.max(1, globalRate);
+
+        Gauge.builder("jira.client.budget.rate", this, JiraCallBudget::currentRate)
+                .description("Jira calls per second allowed to this instance")
+                .register(meterRegistry);
+        Gauge.builder("jira.client.budget.shares", this, JiraCallBudget::waitingShares)
+                .description("Shares with bulk calls waiting for the Jira call budget")
+                .register(meterRegistry);
+    }
+
+    /** Splits the global rate evenly between the given number of live instances. */
+    public void setInstanceCount(int instances) {
+        lock.lock();
+        try {
+            double previous = rate;
+            rate = globalRate / Math.max(1, instances);
+            if (previous != rate) {
+                logger.info("Jira call budget of this instance: {} calls/s ({} instances)", rate, instances);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until the current thread may issue one Jira call. A rate of zero or less disables the budget. */
+    public void acquire() throws InterruptedException {
+        if (globalRate <= 0) {
+            return;
+        }
+        boolean interactive = SyncLane.current() == SyncLane.INTERACTIVE;
+        String share = interactive ? null : Objects.requireNonNullElse(SyncLane.currentShare(), DEFAULT_SHARE);
+
+        lock.lock();
+        try {
+            enqueue(share);
+            boolean granted = false;
+            try {
+                while (true) {
+                    refill();
+                    if (tokens >= 1 && isTurnOf(share)) {
+                        tokens -= 1;
+                        granted = true;
+                        return;
+                    }
+                    long untilNextToken = tokens >= 1 ? MAX_WAIT_NANOS : (long) ((1 - tokens) / rate * 1e9);
+                    changed.awaitNanos(Math.max(1, Math.min(untilNextToken, MAX_WAIT_NANOS)));
+                }
+            } finally {
+                dequeue(share, granted);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double currentRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int waitingShares() {
+        lock.lock();
+        try {
+            return turns.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(Math.max(1, rate), tokens + (now - lastRefillNanos) / 1e9 * rate);
+        lastRefillNanos = now;
+    }
+
+    private boolean isTurnOf(String share) {
+        return share == null || (waitingInteractive == 0 && share.equals(turns.peekFirst()));
+    }
+
+    private void enqueue(String share) {
+        if (share == null) {
+            waitingInteractive++;
+        } else if (waitingByShare.merge(share, 1, Integer::sum) == 1) {
+            turns.addLast(share);
+        }
+    }
+
+    /** Removes the caller; a granted share moves to the back of the round robin if it still waits. */
+    private void dequeue(String share, boolean granted) {
+        if (share == null) {
+            waitingInteractive--;
+            return;
+        }
+        int remaining = waitingByShare.merge(share, -1, Integer::sum);
+        if (remaining == 0) {
+            waitingByShare.remove(share);
+            turns.remove(share);
+        } else if (granted) {
+            turns.remove(share);
+            turns.addLast(share);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.project.jirafetchservice.client;
+
+/**
+ * Named sets of Jira fields requested through the {@code fields=} query parameter. Asking only for
+ * what is actually used keeps payloads (and their parsing) small.
+ */
+public enum JiraFieldProfile {
+
+  /** Exactly the fields mapped by {@code JiraMapper.toDbEntityFromApi}. */
+  SYNC(
+      "summary",
+      "created",
+      "updated",
+      "resolutiondate",
+      "issuetype",
+      "status",
+      "priority",
+      "resolution",
+      "assignee",
+      "reporter",
+      "project",
+      "timespent",
+      "timeoriginalestimate",
+      "timeestimate",
+      "customfield_10016"),
+
+  /**
+   * Issue keys only, for reconciliation scans. Jira serves its largest pages (up to 5000) when
+   * nothing but the key or id is requested.
+   */
+  KEYS("key"),
+
+  /** Every field, for the read-through endpoints returning raw Jira issues. */
+  FULL("*all");
+
+  private final String fields;
+
+  JiraFieldProfile(String... fields) {
+    this.fields = String.join(",", fields);
+  }
+
+  /** Value of the {@code fields} query parameter. */
+  public String fields() {
+    return fields;
+  }
+}
@@ -0,0 +1,26 @@
+package org.project.jirafetchservice.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a token based JQL search whose issues were already converted while being parsed.
+ *
+ * @param <T> type the raw issues were mapped to
+ */
+@Getter
+@AllArgsConstructor
+public class JiraSearchPage<T> {
+
+  private final List<T> items;
+  private final String nextPageToken;
+  private final boolean last;
+  private final Integer total;
+
+  /** A page is the last one when Jira says so or when it does not hand out a next token. */
+  public boolean isLastPage() {
+    return last || nextPageToken == null || nextPageToken.isBlank() || items.isEmpty();
+  }
+}
@@ -1,35 +1,102 @@
 package org.project.jirafetchservice.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.project.jirafetchservice.exception.JiraApiException;
 import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
 import org.project.jirafetchservice.jirapi.JiraSearchResponse;
+import org.project.jirafetchservice.jirapi.JiraWorklogChangeResponse;
+import org.project.jirafetchservice.jirapi.JiraWorklogResponse;
+import org.project.jirafetchservice.mapper.JiraDateParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 @Component
 public class JiraWebClient {
 
-    private final ObjectMapper objectMapper;
+    private static final Logger logger = LoggerFactory.getLogger(JiraWebClient.class);
+    private static final int DEFAULT_MAX_RESULTS = 50;
+    /** Bytes of an error body kept in logs and exception messages. */
+    private static final int MAX_ERROR_BODY = 500;
+    /** Limit of {@code POST /rest/api/3/worklog/list}. */
+    public static final int MAX_WORKLOG_IDS = 1000;
+
     private final String baseUrl;
     private final String authHeaderValue;
     private final HttpClient httpClient;
+    private final int pageSize;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader issueReader;
+    private final ObjectReader worklogChangeReader;
+    private final ObjectReader worklogListReader;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final JiraCallBudget callBudget;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    // Jira calls are I/O bound: one virtual thread per in-flight call is cheap
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public JiraWebClient(ObjectMapper objectMapper,
+            AdaptiveConcurrencyLimiter limiter,
+            JiraCallBudget callBudget,
+            MeterRegistry meterRegistry,
             @Value("${jira.base-url}") String baseUrl,
             @Value("${jira.username}") String username,
-            @Value("${jira.api-token}") String apiToken) {
+            @Value("${jira.api-token}") String apiToken,
+            @Value("${jira.search.page-size:100}") int pageSize,
+            @Value("${jira.client.retry.max-attempts:5}") int maxAttempts,
+            @Value("${jira.client.retry.base-delay-ms:500}") long baseDelayMs,
+            @Value("${jira.client.retry.max-delay-ms:30000}") long maxDelayMs) {
         this.objectMapper = objectMapper;
+        this.limiter = limiter;
+        this.callBudget = callBudget;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.issueReader = objectMapper.readerFor(JiraIssueApiResponse.class);
+        this.worklogChangeReader = objectMapper.readerFor(JiraWorklogChangeResponse.class);
+        this.worklogListReader = objectMapper.readerForListOf(JiraWorklogResponse.class);
         this.baseUrl = baseUrl;
+        this.pageSize = pageSize;
 
         String cleanToken = apiToken.replace("\"", "").trim();
         String cleanUser = username.trim();
@@ -39,56 +106,464 @@ public class JiraWebClient {
     }
 
     public JiraIssueApiResponse getIssue(String issueKey) {
+        return getIssue(issueKey, JiraFieldProfile.FULL);
+    }
+
+    /**
+     * @return the issue, or {@code null} when Jira does not know it
+     * @throws JiraApiException when Jira keeps failing or throttling after all retries
+     */
+    public JiraIssueApiResponse getIssue(String issueKey, JiraFieldProfile profile) {
         try {
-            // Keep v3 for single issue if it works, or switch to v2 if this fails too
-            String uri = baseUrl + "/rest/api/3/issue/" + issueKey;
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(uri))
-                    .header("Authorization", authHeaderValue)
-                    .header("Accept", "application/json")
-                    .GET().build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200)
-                return null;
-            return objectMapper.readValue(response.body(), JiraIssueApiResponse.class);
+            // Only the fields of the profile are requested
+            String uri = baseUrl + "/rest/api/3/issue/" + issueKey
+                    + "?fields=" + URLEncoder.encode(profile.fields(), StandardCharsets.UTF_8);
+
+            HttpResponse<InputStream> response = send(newRequest(uri));
+            try (InputStream body = decodedBody(response)) {
+                if (response.statusCode() == 404)
+                    return null;
+                if (response.statusCode() != 200)
+                    throw new JiraApiException("Jira issue fetch failed for " + issueKey + ": " + response.statusCode());
+                return issueReader.readValue(body);
+            }
+        } catch (JiraApiException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JiraApiException("Interrupted while fetching issue " + issueKey, e);
         } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            throw new JiraApiException("Failed to fetch issue " + issueKey, e);
         }
     }
-    public JiraSearchResponse searchIssues(String jql) {
-        try {
-            // Correct endpoint and param name
-            String uri = baseUrl + "/rest/api/3/search/jql?jql=" + java.net.URLEncoder.encode(jql, java.nio.charset.StandardCharsets.UTF_8) +
-                    "&startAt=0&maxResults=50&fields=*all";
 
-            System.out.println("⚡️ USING NEW JQL SEARCH: " + uri);
+    /** Non blocking variant of {@link #getIssue(String, JiraFieldProfile)}, run on a virtual thread. */
+    public CompletableFuture<JiraIssueApiResponse> getIssueAsync(String issueKey, JiraFieldProfile profile) {
+        return CompletableFuture.supplyAsync(SyncLane.propagate(() -> getIssue(issueKey, profile)), asyncExecutor);
+    }
+
+    /**
+     * Non blocking variant of {@link #searchIssuesPage(String, String, int, JiraFieldProfile, Function)},
+     * run on a virtual thread.
+     */
+    public <T> CompletableFuture<JiraSearchPage<T>> searchIssuesPageAsync(String jql, String nextPageToken,
+            int maxResults, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        return CompletableFuture.supplyAsync(SyncLane.propagate(
+                () -> searchIssuesPage(jql, nextPageToken, maxResults, profile, mapper)), asyncExecutor);
+    }
+
+    /**
+     * Collects every page of a search on a virtual thread. Only meant for searches known to be
+     * small, e.g. a {@code key in (...)} chunk.
+     */
+    public <T> CompletableFuture<List<T>> searchAllAsync(
+            String jql, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        return CompletableFuture.supplyAsync(SyncLane.propagate(() -> {
+            try (Stream<T> items = streamSearch(jql, profile, mapper)) {
+                return items.toList();
+            }
+        }), asyncExecutor);
+    }
+
+    /**
+     * Fetches the issues with the given keys, or ids, on a virtual thread. Jira rejects a whole
+     * {@code key in (...)} query with 400 as soon as one key does not exist or is not visible, so
+     * a rejected list is split in halves and retried; keys rejected on their own are left out of
+     * the result, like issues that are not found.
+     */
+    public <T> CompletableFuture<List<T>> searchByKeysAsync(
+            List<String> issueKeys, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        return CompletableFuture.supplyAsync(
+                SyncLane.propagate(() -> searchByKeys(issueKeys, profile, mapper)), asyncExecutor);
+    }
+
+    private <T> List<T> searchByKeys(
+            List<String> issueKeys, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        try (Stream<T> items = streamSearch(issueKeysJql(issueKeys), profile, mapper)) {
+            return items.toList();
+        } catch (JiraApiException e) {
+            if (e.getStatusCode() != 400) {
+                throw e;
+            }
+            if (issueKeys.size() == 1) {
+                logger.info("Jira rejects issue {}, treated as not found", issueKeys.get(0));
+                return List.of();
+            }
+            int half = issueKeys.size() / 2;
+            List<T> found = new ArrayList<>(searchByKeys(issueKeys.subList(0, half), profile, mapper));
+            found.addAll(searchByKeys(issueKeys.subList(half, issueKeys.size()), profile, mapper));
+            return found;
+        }
+    }
+
+    /**
+     * One page of the ids of the worklogs created or updated after {@code sinceMillis}. Jira leaves
+     * out the changes of the last minute, so the returned {@code until} is always safe to resume from.
+     */
+    public JiraWorklogChangeResponse getUpdatedWorklogs(long sinceMillis) {
+        return getWorklogChanges("updated", sinceMillis);
+    }
+
+    /** One page of the ids of the worklogs deleted after {@code sinceMillis}. */
+    public JiraWorklogChangeResponse getDeletedWorklogs(long sinceMillis) {
+        return getWorklogChanges("deleted", sinceMillis);
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(uri))
-                    .header("Authorization", authHeaderValue)
-                    .header("Accept", "application/json")
-                    .GET()
+    /**
+     * Fetches the worklogs with the given ids, at most {@link #MAX_WORKLOG_IDS} per call. Ids that
+     * no longer exist are silently left out by Jira.
+     */
+    public List<JiraWorklogResponse> getWorklogs(List<Long> worklogIds) {
+        if (worklogIds.isEmpty()) {
+            return List.of();
+        }
+        if (worklogIds.size() > MAX_WORKLOG_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_WORKLOG_IDS + " worklog ids per call");
+        }
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(Map.of("ids", worklogIds));
+            HttpRequest request = requestBuilder(baseUrl + "/rest/api/3/worklog/list")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload))
                     .build();
+            HttpResponse<InputStream> response = send(request);
+            try (InputStream body = decodedBody(response)) {
+                if (response.statusCode() != 200)
+                    throw new JiraApiException("Jira worklog fetch failed: " + response.statusCode());
+                return worklogListReader.readValue(body);
+            }
+        } catch (JiraApiException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JiraApiException("Interrupted while fetching worklogs", e);
+        } catch (Exception e) {
+            throw new JiraApiException("Failed to fetch worklogs", e);
+        }
+    }
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private JiraWorklogChangeResponse getWorklogChanges(String feed, long sinceMillis) {
+        try {
+            HttpResponse<InputStream> response =
+                    send(newRequest(baseUrl + "/rest/api/3/worklog/" + feed + "?since=" + sinceMillis));
+            try (InputStream body = decodedBody(response)) {
+                if (response.statusCode() != 200)
+                    throw new JiraApiException("Jira worklog " + feed + " feed failed: " + response.statusCode());
+                return worklogChangeReader.readValue(body);
+            }
+        } catch (JiraApiException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JiraApiException("Interrupted while reading the worklog " + feed + " feed", e);
+        } catch (Exception e) {
+            throw new JiraApiException("Failed to read the worklog " + feed + " feed", e);
+        }
+    }
 
-            if (response.statusCode() != 200) {
-                System.err.println("❌ JIRA JQL ERROR: " + response.statusCode());
-                System.err.println("❌ BODY: " + response.body());
-                throw new RuntimeException("Jira Search Failed: " + response.statusCode());
+    @PreDestroy
+    void shutdown() {
+        asyncExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns only the first page of a JQL search. Use
+     * {@link #streamSearch(String, JiraFieldProfile)} to walk every matching issue.
+     */
+    public JiraSearchResponse searchIssues(String jql) {
+        return searchIssuesPage(jql, null, DEFAULT_MAX_RESULTS, JiraFieldProfile.FULL);
+    }
+
+    /**
+     * Fetches a single page of the token based JQL search.
+     *
+     * @param nextPageToken token returned by the previous page, {@code null} for the first one
+     */
+    public JiraSearchResponse searchIssuesPage(
+            String jql, String nextPageToken, int maxResults, JiraFieldProfile profile) {
+        JiraSearchPage<JiraIssueApiResponse> page =
+                searchIssuesPage(jql, nextPageToken, maxResults, profile, Function.identity());
+        JiraSearchResponse response = new JiraSearchResponse();
+        response.setIssues(page.getItems());
+        response.setNextPageToken(page.getNextPageToken());
+        response.setLast(page.isLast());
+        response.setTotal(page.getTotal());
+        return response;
+    }
+
+    /**
+     * Fetches a single page of the token based JQL search. The response is parsed straight from
+     * the socket and every issue is handed to {@code mapper} as soon as it has been read, so the
+     * raw issue objects never outlive their own parsing.
+     */
+    public <T> JiraSearchPage<T> searchIssuesPage(String jql, String nextPageToken, int maxResults,
+            JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        try {
+            // Correct endpoint and param name
+            StringBuilder uri = new StringBuilder(baseUrl)
+                    .append("/rest/api/3/search/jql?jql=").append(URLEncoder.encode(jql, StandardCharsets.UTF_8))
+                    .append("&maxResults=").append(maxResults)
+                    .append("&fields=").append(URLEncoder.encode(profile.fields(), StandardCharsets.UTF_8));
+            if (nextPageToken != null) {
+                uri.append("&nextPageToken=").append(URLEncoder.encode(nextPageToken, StandardCharsets.UTF_8));
             }
 
-            return objectMapper.readValue(response.body(), JiraSearchResponse.class);
+            HttpResponse<InputStream> response = send(newRequest(uri.toString()));
+
+            try (InputStream body = decodedBody(response)) {
+                if (response.statusCode() != 200) {
+                    String error = new String(body.readNBytes(MAX_ERROR_BODY), StandardCharsets.UTF_8);
+                    logger.error("Jira search failed with {} for JQL [{}]: {}", response.statusCode(), jql, error);
+                    throw new JiraApiException(
+                            "Jira search failed: " + response.statusCode() + " " + error, response.statusCode());
+                }
+                return readSearchPage(body, mapper);
+            }
+        } catch (JiraApiException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JiraApiException("Interrupted while searching Jira issues", e);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to search Jira issues", e);
+            throw new JiraApiException("Failed to search Jira issues", e);
         }
     }
+
+    /**
+     * Lazily walks every page of a JQL search, requesting the fields of the given profile. A page
+     * is only requested from Jira once the previous one has been consumed, so memory stays bounded
+     * by a single page.
+     */
+    public <T> Stream<List<T>> streamSearchPages(
+            String jql, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        return streamSearchPages(jql, profile, pageSize, mapper);
+    }
+
+    /** Same as {@link #streamSearchPages(String, JiraFieldProfile, Function)} with an explicit page size. */
+    public <T> Stream<List<T>> streamSearchPages(
+            String jql, JiraFieldProfile profile, int maxResults, Function<JiraIssueApiResponse, T> mapper) {
+        Iterator<List<T>> pages = new SearchPageIterator<>(jql, profile, maxResults, mapper);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public Stream<List<JiraIssueApiResponse>> streamSearchPages(String jql, JiraFieldProfile profile) {
+        return streamSearchPages(jql, profile, Function.identity());
+    }
+
+    /** Same as {@link #streamSearchPages(String, JiraFieldProfile, Function)} flattened to single items. */
+    public <T> Stream<T> streamSearch(String jql, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper) {
+        return streamSearchPages(jql, profile, mapper).flatMap(List::stream);
+    }
+
+    public Stream<JiraIssueApiResponse> streamSearch(String jql, JiraFieldProfile profile) {
+        return streamSearch(jql, profile, Function.identity());
+    }
+
+    public Stream<List<JiraIssueApiResponse>> streamProjectIssuePages(String projectKey, JiraFieldProfile profile) {
+        return streamSearchPages(projectJql(projectKey), profile);
+    }
+
     public List<JiraIssueApiResponse> searchProjectIssues(String projectKey) {
-        // Enclose project key in quotes
-        String jql = "project = \"" + projectKey + "\"";
-        JiraSearchResponse response = searchIssues(jql);
+        JiraSearchResponse response = searchIssues(projectJql(projectKey));
         return response != null ? response.getIssues() : List.of();
     }
-}
\ No newline at end of file
+
+    /**
+     * Looks up the {@code created} date of the oldest issue matching the JQL, {@code null} when
+     * nothing matches. Used as the lower bound of partitioned searches.
+     */
+    public LocalDateTime findOldestCreated(String jql) {
+        JiraSearchResponse firstPage = searchIssuesPage(jql + " ORDER BY created ASC", null, 1, JiraFieldProfile.SYNC);
+        if (firstPage.getIssues() == null || firstPage.getIssues().isEmpty()) {
+            return null;
+        }
+        JiraIssueApiResponse oldest = firstPage.getIssues().get(0);
+        return oldest.getFields() != null ? JiraDateParser.parse(oldest.getFields().getCreated()) : null;
+    }
+
+    public static String projectJql(String projectKey) {
+        // Enclose project key in quotes
+        return "project = \"" + projectKey + "\"";
+    }
+
+    /** {@code key in (...)} query for an explicit list of issue keys; Jira also accepts issue ids there. */
+    public static String issueKeysJql(List<String> issueKeys) {
+        return "key in (" + String.join(",", issueKeys) + ")";
+    }
+
+    private HttpRequest newRequest(String uri) {
+        return requestBuilder(uri).GET().build();
+    }
+
+    private HttpRequest.Builder requestBuilder(String uri) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(uri))
+                .header("Authorization", authHeaderValue)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip");
+    }
+
+    /**
+     * Sends a request through the call budget and the shared concurrency limiter. Throttling
+     * answers (429/503) and I/O errors are retried with jittered exponential backoff, honouring
+     * {@code Retry-After} when Jira sends it. The last response is returned as is once the
+     * attempts are exhausted.
+     */
+    private HttpResponse<InputStream> send(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            callBudget.acquire();
+            limiter.acquire();
+            long start = System.nanoTime();
+            // Interrupts and unexpected failures must not leak the permit either
+            boolean released = false;
+            try {
+                HttpResponse<InputStream> response;
+                try {
+                    response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                } catch (IOException e) {
+                    limiter.release(Duration.ofNanos(System.nanoTime() - start), false);
+                    released = true;
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    meterRegistry.counter("jira.client.retries", "reason", "io").increment();
+                    Thread.sleep(backoffDelay(attempt).toMillis());
+                    continue;
+                }
+
+                int status = response.statusCode();
+                boolean throttled = status == 429 || status == 503;
+                limiter.release(Duration.ofNanos(System.nanoTime() - start), throttled);
+                released = true;
+                if (!throttled || attempt >= maxAttempts) {
+                    return response;
+                }
+
+                Duration delay = retryAfter(response).orElse(backoffDelay(attempt));
+                response.body().close();
+                meterRegistry.counter("jira.client.retries", "reason", String.valueOf(status)).increment();
+                Thread.sleep(delay.toMillis());
+            } finally {
+                if (!released) {
+                    limiter.drop();
+                }
+            }
+        }
+    }
+
+    /** Full jitter: a random delay between 0 and the exponential cap. */
+    private Duration backoffDelay(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    /** Parses {@code Retry-After} (seconds or HTTP date) and adds up to 10% jitter. */
+    private Optional<Duration> retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After").map(value -> {
+            long millis;
+            try {
+                millis = Long.parseLong(value.trim()) * 1000;
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    millis = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)).toMillis();
+                } catch (Exception notDate) {
+                    return null;
+                }
+            }
+            long bounded = Math.max(0, Math.min(millis, maxDelayMs));
+            return Duration.ofMillis(bounded + ThreadLocalRandom.current().nextLong(bounded / 10 + 1));
+        });
+    }
+
+    /** HttpClient does not decode transport compression by itself. */
+    private static InputStream decodedBody(HttpResponse<InputStream> response) throws IOException {
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        return gzip ? new GZIPInputStream(response.body(), 16 * 1024) : response.body();
+    }
+
+    /**
+     * Reads a search response token by token. Issues are bound one at a time from the
+     * {@code issues} array; everything else except the paging attributes is skipped.
+     */
+    private <T> JiraSearchPage<T> readSearchPage(InputStream body, Function<JiraIssueApiResponse, T> mapper)
+            throws IOException {
+        List<T> items = new ArrayList<>();
+        String nextPageToken = null;
+        boolean last = false;
+        Integer total = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected Jira search payload");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "issues" -> {
+                        if (value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                JiraIssueApiResponse issue = issueReader.readValue(parser);
+                                items.add(mapper.apply(issue));
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    case "nextPageToken" -> nextPageToken = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "isLast" -> last = value == JsonToken.VALUE_TRUE;
+                    case "total" -> total = value == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new JiraSearchPage<>(items, nextPageToken, last, total);
+    }
+
+    /**
+     * Follows Jira's {@code nextPageToken} chain, fetching one page per {@link #next()} call.
+     */
+    private final class SearchPageIterator<T> implements Iterator<List<T>> {
+
+        private final String jql;
+        private final JiraFieldProfile profile;
+        private final int maxResults;
+        private final Function<JiraIssueApiResponse, T> mapper;
+        private String nextPageToken;
+        private boolean exhausted;
+        private List<T> buffered;
+
+        private SearchPageIterator(String jql, JiraFieldProfile profile, int maxResults,
+                Function<JiraIssueApiResponse, T> mapper) {
+            this.jql = jql;
+            this.profile = profile;
+            this.maxResults = maxResults;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (buffered == null && !exhausted) {
+                JiraSearchPage<T> page = searchIssuesPage(jql, nextPageToken, maxResults, profile, mapper);
+                exhausted = page.isLastPage();
+                nextPageToken = page.getNextPageToken();
+                buffered = page.getItems().isEmpty() ? null : page.getItems();
+            }
+            return buffered != null;
+        }
+
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<T> page = buffered;
+            buffered = null;
+            return page;
+        }
+    }
+}
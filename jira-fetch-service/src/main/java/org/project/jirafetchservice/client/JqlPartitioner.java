@@ -0,0 +1,52 @@
+package org.project.jirafetchservice.client;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a JQL query into disjoint {@code created} windows so that each window can be paged
+ * through independently. {@code created} never changes for an issue, so an issue lands in exactly
+ * one window even if it is edited while the sync runs.
+ */
+public final class JqlPartitioner {
+
+  // JQL only understands minute precision
+  private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+  private JqlPartitioner() {}
+
+  /**
+   * @param baseJql filter without ORDER BY clause, e.g. {@code project = "ABC"}
+   * @param from oldest {@code created} value of the matching issues
+   * @param to upper bound of the range, usually now
+   * @param partitions requested number of windows, fewer are returned for short ranges
+   * @return JQL queries whose union matches exactly the issues of {@code baseJql}
+   */
+  public static List<String> byCreated(String baseJql, LocalDateTime from, LocalDateTime to, int partitions) {
+    LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES);
+    long totalMinutes = Duration.between(start, to).toMinutes();
+    int count = (int) Math.max(1, Math.min(partitions, totalMinutes));
+    if (count == 1) {
+      return List.of(baseJql);
+    }
+
+    long step = totalMinutes / count;
+    List<String> windows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      StringBuilder jql = new StringBuilder("(").append(baseJql).append(")");
+      // First and last windows stay open ended so nothing falls outside the range
+      if (i > 0) {
+        jql.append(" AND created >= \"").append(JQL_DATE.format(start.plusMinutes(step * i))).append('"');
+      }
+      if (i < count - 1) {
+        jql.append(" AND created < \"").append(JQL_DATE.format(start.plusMinutes(step * (i + 1)))).append('"');
+      }
+      windows.add(jql.toString());
+    }
+    return windows;
+  }
+}
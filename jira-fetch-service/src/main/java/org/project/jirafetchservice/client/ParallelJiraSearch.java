@@ -0,0 +1,106 @@
+package org.project.jirafetchservice.client;
+
+import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs several JQL searches concurrently and hands their pages back to the calling thread.
+ * Only the HTTP round trips run in parallel; the consumer is always invoked on the caller's
+ * thread so it can safely use the caller's transaction. A bounded hand-off queue keeps at most a
+ * few pages per worker in memory when the consumer is slower than Jira.
+ */
+@Component
+public class ParallelJiraSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelJiraSearch.class);
+    private static final Object DONE = new Object();
+
+    private final JiraWebClient jiraWebClient;
+
+    public ParallelJiraSearch(JiraWebClient jiraWebClient) {
+        this.jiraWebClient = jiraWebClient;
+    }
+
+    /**
+     * @param jqls disjoint queries, each one is paged through sequentially by a single worker
+     * @param profile fields requested for every issue
+     * @param mapper applied to every issue on the worker thread, while the page is parsed
+     * @param parallelism maximum number of queries in flight
+     * @param pageConsumer receives every page, on the calling thread
+     */
+    public <T> void forEachPage(List<String> jqls, JiraFieldProfile profile,
+            Function<JiraIssueApiResponse, T> mapper, int parallelism, Consumer<List<T>> pageConsumer) {
+        if (jqls.isEmpty()) {
+            return;
+        }
+        int workers = Math.max(1, Math.min(parallelism, jqls.size()));
+        BlockingQueue<Object> handOff = new ArrayBlockingQueue<>(workers * 2);
+        // Virtual threads: the workers spend nearly all their time waiting on Jira
+        ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofVirtual().factory());
+        List<Future<?>> futures = new ArrayList<>(jqls.size());
+
+        try {
+            for (String jql : jqls) {
+                futures.add(executor.submit(SyncLane.propagate(() -> fetchAll(jql, profile, mapper, handOff))));
+            }
+
+            int finished = 0;
+            while (finished < jqls.size()) {
+                Object item = handOff.take();
+                if (item == DONE) {
+                    finished++;
+                } else if (item instanceof RuntimeException failure) {
+                    throw failure;
+                } else if (item instanceof Error failure) {
+                    throw failure;
+                } else {
+                    @SuppressWarnings("unchecked")
+                    List<T> page = (List<T>) item;
+                    pageConsumer.accept(page);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Jira search pages", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> void fetchAll(String jql, JiraFieldProfile profile, Function<JiraIssueApiResponse, T> mapper,
+            BlockingQueue<Object> handOff) {
+        try {
+            try (Stream<List<T>> pages = jiraWebClient.streamSearchPages(jql, profile, mapper)) {
+                var iterator = pages.iterator();
+                while (iterator.hasNext()) {
+                    handOff.put(iterator.next());
+                }
+            }
+            handOff.put(DONE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            // Whatever ends the worker must reach the consumer, or it waits on the queue forever
+            logger.error("Partition search failed for JQL [{}]: {}", jql, e.getMessage());
+            try {
+                handOff.put(e);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.project.jirafetchservice.client;
+
+import java.util.function.Supplier;
+
+/**
+ * Priority class of the work issuing Jira calls. The lane is bound to the current thread and
+ * read by {@link AdaptiveConcurrencyLimiter}, which admits interactive calls before bulk ones.
+ * Threads without a lane, e.g. HTTP request threads, count as interactive.
+ *
+ * <p>Bulk work may also bind a share, typically its project key, under which
+ * {@link JiraCallBudget} splits the Jira call budget fairly.
+ */
+public enum SyncLane {
+
+    /** Work a user is waiting for: single issues, key lists, small JQL searches. */
+    INTERACTIVE,
+
+    /** Background work: project syncs, replays, reconciliations, worklog ingestion. */
+    BULK;
+
+    private static final ThreadLocal<SyncLane> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> SHARE = new ThreadLocal<>();
+
+    public static SyncLane current() {
+        SyncLane lane = CURRENT.get();
+        return lane != null ? lane : INTERACTIVE;
+    }
+
+    /** Whether the current thread already runs in an explicitly assigned lane. */
+    public static boolean isAssigned() {
+        return CURRENT.get() != null;
+    }
+
+    /** Share of the Jira call budget the current thread's calls are counted against, or {@code null}. */
+    public static String currentShare() {
+        return SHARE.get();
+    }
+
+    /** Runs {@code work} on the current thread with {@code share} bound to it. */
+    public static <T> T withShare(String share, Supplier<T> work) {
+        String previous = SHARE.get();
+        SHARE.set(share);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                SHARE.set(previous);
+            } else {
+                SHARE.remove();
+            }
+        }
+    }
+
+    /** Runs {@code work} on the current thread with this lane bound to it. */
+    public <T> T run(Supplier<T> work) {
+        SyncLane previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /** Wraps {@code work} so that it runs in the lane and share of the thread calling this method. */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        SyncLane lane = current();
+        String share = currentShare();
+        return () -> withShare(share, () -> lane.run(work));
+    }
+
+    public static Runnable propagate(Runnable work) {
+        Supplier<Object> wrapped = propagate(() -> {
+            work.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+}
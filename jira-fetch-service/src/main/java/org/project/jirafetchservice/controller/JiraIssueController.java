@@ -2,20 +2,41 @@ package org.project.jirafetchservice.controller;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.project.jirafetchservice.dto.IssuePageDto;
 import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.project.jirafetchservice.dto.ProjectCatalogDto;
+import org.project.jirafetchservice.dto.ReconciliationDto;
+import org.project.jirafetchservice.dto.ReplayJobDto;
+import org.project.jirafetchservice.dto.SyncJobDto;
+import org.project.jirafetchservice.dto.WorklogSyncDto;
 import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
 import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.LocalIssueFilter;
+import org.project.jirafetchservice.service.IssueEventReplayService;
+import org.project.jirafetchservice.service.IssueReconciliationService;
 import org.project.jirafetchservice.service.JiraIssueService;
+import org.project.jirafetchservice.service.LocalIssueQueryService;
+import org.project.jirafetchservice.service.ProjectCatalogService;
+import org.project.jirafetchservice.service.SyncJobService;
+import org.project.jirafetchservice.service.WorklogSyncService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,12 +45,33 @@ import java.util.stream.Collectors;
 public class JiraIssueController {
 
   private static final Logger log = LoggerFactory.getLogger(JiraIssueController.class);
+  private static final String SOURCE_JIRA = "jira";
 
   private final JiraIssueService jiraIssueService;
+  private final SyncJobService syncJobService;
+  private final IssueEventReplayService replayService;
+  private final LocalIssueQueryService localIssueQueryService;
+  private final ProjectCatalogService projectCatalogService;
+  private final IssueReconciliationService reconciliationService;
+  private final WorklogSyncService worklogSyncService;
   private final JiraMapper jiraMapper;
 
-  public JiraIssueController(JiraIssueService jiraIssueService, JiraMapper jiraMapper) {
+  public JiraIssueController(
+          JiraIssueService jiraIssueService,
+          SyncJobService syncJobService,
+          IssueEventReplayService replayService,
+          LocalIssueQueryService localIssueQueryService,
+          ProjectCatalogService projectCatalogService,
+          IssueReconciliationService reconciliationService,
+          WorklogSyncService worklogSyncService,
+          JiraMapper jiraMapper) {
     this.jiraIssueService = jiraIssueService;
+    this.syncJobService = syncJobService;
+    this.replayService = replayService;
+    this.localIssueQueryService = localIssueQueryService;
+    this.projectCatalogService = projectCatalogService;
+    this.reconciliationService = reconciliationService;
+    this.worklogSyncService = worklogSyncService;
     this.jiraMapper = jiraMapper;
   }
 
@@ -60,7 +102,17 @@ public class JiraIssueController {
 
   @GetMapping("/projects/local")
   public List<String> getAllLocalProjectKeys() {
-    return jiraIssueService.getAllLocalProjectKeys();
+    return projectCatalogService.getAllLocalProjectKeys();
+  }
+
+  @GetMapping("/projects/local/catalog")
+  public List<ProjectCatalogDto> getProjectCatalog() {
+    return projectCatalogService.getCatalog();
+  }
+
+  @PostMapping("/projects/local/catalog/rebuild")
+  public List<ProjectCatalogDto> rebuildProjectCatalog() {
+    return projectCatalogService.rebuild();
   }
 
   @GetMapping("/projects/{projectKey}/issues")
@@ -76,17 +128,56 @@ public class JiraIssueController {
 
   // ================== ENDPOINTS RECHERCHE ==================
 
+  /**
+   * Runs {@code jql} against Jira ({@code source=jira}, the default when {@code jql} is given) and
+   * returns the Jira issues as before. {@code source=local}, the default otherwise, searches the
+   * synced issues by text and structured filters and returns {@link IssueSimpleDto}s.
+   */
   @GetMapping("/search")
-  public List<JiraIssueApiResponse> searchIssues(
-          @RequestParam @NotBlank String jql,
+  public List<?> searchIssues(
+          @RequestParam(required = false) String q,
+          @RequestParam(required = false) String projectKey,
+          @RequestParam(required = false) String assignee,
+          @RequestParam(required = false) String assigneeEmail,
+          @RequestParam(required = false) String status,
+          @RequestParam(required = false) String issueType,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+          @RequestParam(required = false) String jql,
+          @RequestParam(required = false) @Pattern(regexp = "local|jira", message = "Source invalide") String source,
           @RequestParam(defaultValue = "50") @Positive @Max(100) Integer limit) {
-    List<JiraIssueApiResponse> issues = jiraIssueService.searchIssues(jql);
-    return issues.stream().limit(limit).collect(Collectors.toList());
+    // Callers from before the local search send a bare jql
+    if (SOURCE_JIRA.equals(source) || (source == null && jql != null)) {
+      if (jql == null || jql.isBlank()) {
+        throw new IllegalArgumentException("Le paramètre jql est requis avec source=jira");
+      }
+      return jiraIssueService.searchIssues(jql).stream().limit(limit).collect(Collectors.toList());
+    }
+    if (jql != null) {
+      throw new IllegalArgumentException("Le JQL n'est évalué que par Jira, utiliser source=jira");
+    }
+    LocalIssueFilter filter = new LocalIssueFilter(projectKey, assignee, assigneeEmail, status, issueType,
+            blankToNull(q), createdFrom, createdTo, updatedFrom, updatedTo);
+    return localIssueQueryService.search(filter, limit);
   }
 
+  /**
+   * Issues assigned to the user: every Jira issue, as before, unless {@code source=local} asks for
+   * the synced issues as {@link IssueSimpleDto}s, up to {@code limit}.
+   */
   @GetMapping("/assignees/{email}/issues")
-  public List<JiraIssueApiResponse> getIssuesAssignedTo(@PathVariable @NotBlank String email) {
-    return jiraIssueService.getIssuesAssignedTo(email);
+  public List<?> getIssuesAssignedTo(
+          @PathVariable @NotBlank String email,
+          @RequestParam(defaultValue = SOURCE_JIRA) @Pattern(regexp = "local|jira", message = "Source invalide") String source,
+          @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer limit) {
+    if (SOURCE_JIRA.equals(source)) {
+      return jiraIssueService.getIssuesAssignedTo(email);
+    }
+    LocalIssueFilter filter =
+            new LocalIssueFilter(null, null, email, null, null, null, null, null, null, null);
+    return localIssueQueryService.search(filter, limit);
   }
 
   // ================== ENDPOINTS SYNCHRONISATION ==================
@@ -100,11 +191,25 @@ public class JiraIssueController {
     return ResponseEntity.ok(issue);
   }
 
+  @PostMapping("/issues/sync")
+  public List<IssueSimpleDto> syncIssues(
+          @RequestBody @NotEmpty @Size(max = 1000)
+          List<@Pattern(regexp = "^[A-Z][A-Z0-9_]*-\\d+$", message = "Format d'issue key invalide") String> issueKeys,
+          @RequestParam(defaultValue = "false") boolean force) {
+    return jiraIssueService.synchronizeIssuesWithJira(issueKeys, force);
+  }
+
+  /** Starts (or returns the already active) background sync job of the project. */
   @PostMapping("/projects/{projectKey}/sync")
-  public List<IssueSimpleDto> syncProject(
+  public ResponseEntity<SyncJobDto> syncProject(
           @PathVariable @NotBlank String projectKey,
-          @RequestParam(defaultValue = "50") @Positive @Max(100) Integer batchSize) {
-    return jiraIssueService.synchronizeProjectWithJira(projectKey, batchSize);
+          @RequestParam(defaultValue = "50") @Positive @Max(100) Integer batchSize,
+          @RequestParam(defaultValue = "1") @Positive @Max(32) Integer parallelism,
+          @RequestParam(defaultValue = "false") boolean full) {
+    SyncJobDto job = syncJobService.start(projectKey, batchSize, full, parallelism);
+    return ResponseEntity.accepted()
+            .header("Location", "/api/jira/sync-jobs/" + job.getId())
+            .body(job);
   }
 
   @PostMapping("/search/sync")
@@ -112,6 +217,65 @@ public class JiraIssueController {
     return jiraIssueService.synchronizeSearchWithJira(jql);
   }
 
+  /** Deletes the local issues of the project that no longer exist in it on Jira. */
+  @PostMapping("/projects/{projectKey}/reconcile")
+  public ReconciliationDto reconcileProject(
+          @PathVariable @NotBlank String projectKey,
+          @RequestParam(defaultValue = "false") boolean force) {
+    return reconciliationService.reconcile(projectKey, force);
+  }
+
+  // ================== ENDPOINTS JOBS DE SYNCHRONISATION ==================
+
+  @GetMapping("/sync-jobs/{jobId}")
+  public ResponseEntity<SyncJobDto> getSyncJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(syncJobService.find(jobId));
+  }
+
+  @DeleteMapping("/sync-jobs/{jobId}")
+  public ResponseEntity<SyncJobDto> cancelSyncJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(syncJobService.cancel(jobId));
+  }
+
+  @PostMapping("/sync-jobs/{jobId}/resume")
+  public ResponseEntity<SyncJobDto> resumeSyncJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(syncJobService.resume(jobId));
+  }
+
+  // ================== ENDPOINTS REPLAY D'EVENEMENTS ==================
+
+  /** Re-emits the project's stored issues as events, without calling Jira. */
+  @PostMapping("/projects/{projectKey}/replay")
+  public ResponseEntity<ReplayJobDto> replayProject(
+          @PathVariable @NotBlank String projectKey,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+          @RequestParam(required = false) @Positive Long maxEvents,
+          @RequestParam(required = false) @Positive @Max(100000) Integer ratePerSecond) {
+    ReplayJobDto job = replayService.start(projectKey, from, to, maxEvents, ratePerSecond);
+    return ResponseEntity.accepted()
+            .header("Location", "/api/jira/replay-jobs/" + job.getId())
+            .body(job);
+  }
+
+  @GetMapping("/replay-jobs/{jobId}")
+  public ResponseEntity<ReplayJobDto> getReplayJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(replayService.find(jobId));
+  }
+
+  @DeleteMapping("/replay-jobs/{jobId}")
+  public ResponseEntity<ReplayJobDto> cancelReplayJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(replayService.cancel(jobId));
+  }
+
+  // ================== ENDPOINTS WORKLOGS ==================
+
+  /** Pulls the worklogs changed since the last run; also runs on a schedule. */
+  @PostMapping("/worklogs/sync")
+  public WorklogSyncDto syncWorklogs() {
+    return worklogSyncService.synchronize();
+  }
+
   // ================== ENDPOINTS BASE LOCALE ==================
 
   @GetMapping("/local/issues/{issueKey}")
@@ -125,10 +289,66 @@ public class JiraIssueController {
     return ResponseEntity.ok(issue);
   }
 
+  /** Keyset-paginated local issues, ordered by {@code (updated, issueKey)}. */
+  @GetMapping("/local/issues")
+  public ResponseEntity<IssuePageDto> getLocalIssues(
+          @RequestParam(required = false) String projectKey,
+          @RequestParam(required = false) String assignee,
+          @RequestParam(required = false) String assigneeEmail,
+          @RequestParam(required = false) String status,
+          @RequestParam(required = false) String issueType,
+          @RequestParam(required = false) String q,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer limit,
+          WebRequest request) {
+    LocalIssueFilter filter = new LocalIssueFilter(projectKey, assignee, assigneeEmail, status, issueType,
+            blankToNull(q), createdFrom, createdTo, updatedFrom, updatedTo);
+    LocalIssueQueryService.TaggedPage page = localIssueQueryService.findPage(filter, cursor, limit);
+    if (request.checkNotModified(page.etag())) {
+      return null; // 304, headers already set
+    }
+    return ResponseEntity.ok().eTag(page.etag()).body(page.page());
+  }
+
+  /** Every matching local issue as NDJSON, streamed while it is read. */
+  @GetMapping(value = "/local/issues/stream", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> streamLocalIssues(
+          @RequestParam(required = false) String projectKey,
+          @RequestParam(required = false) String assignee,
+          @RequestParam(required = false) String assigneeEmail,
+          @RequestParam(required = false) String status,
+          @RequestParam(required = false) String issueType,
+          @RequestParam(required = false) String q,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+          WebRequest request) {
+    LocalIssueFilter filter = new LocalIssueFilter(projectKey, assignee, assigneeEmail, status, issueType,
+            blankToNull(q), createdFrom, createdTo, updatedFrom, updatedTo);
+    String etag = localIssueQueryService.etag(filter);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    StreamingResponseBody body = out -> localIssueQueryService.streamNdjson(filter, out);
+    return ResponseEntity.ok()
+            .eTag(etag)
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+  }
+
   // ================== ENDPOINTS UTILITAIRES ==================
 
   @GetMapping("/health")
   public ResponseEntity<String> health() {
     return ResponseEntity.ok("Service Jira opérationnel");
   }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value;
+  }
 }
@@ -0,0 +1,98 @@
+package org.project.jirafetchservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.project.jirafetchservice.jirapi.JiraWebhookEvent;
+import org.project.jirafetchservice.service.JiraWebhookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Receives Jira webhooks. The {@code X-Hub-Signature: sha256=<hex>} header must be the
+ * HMAC-SHA256 of the raw body with {@code jira.webhooks.secret}. Without a secret every webhook
+ * is rejected, unless unsigned webhooks are explicitly allowed with
+ * {@code jira.webhooks.allow-unsigned=true}.
+ */
+@RestController
+@RequestMapping("/api/jira/webhooks")
+public class JiraWebhookController {
+
+  private static final Logger log = LoggerFactory.getLogger(JiraWebhookController.class);
+  private static final String SIGNATURE_PREFIX = "sha256=";
+
+  private final JiraWebhookService webhookService;
+  private final ObjectMapper objectMapper;
+  private final String secret;
+  private final boolean allowUnsigned;
+
+  public JiraWebhookController(
+          JiraWebhookService webhookService,
+          ObjectMapper objectMapper,
+          @Value("${jira.webhooks.secret:}") String secret,
+          @Value("${jira.webhooks.allow-unsigned:false}") boolean allowUnsigned) {
+    this.webhookService = webhookService;
+    this.objectMapper = objectMapper;
+    this.secret = secret;
+    this.allowUnsigned = allowUnsigned;
+    if (secret.isEmpty()) {
+      if (allowUnsigned) {
+        log.warn("jira.webhooks.secret is not set, webhooks are accepted without signature");
+      } else {
+        log.warn("jira.webhooks.secret is not set, every webhook will be rejected");
+      }
+    }
+  }
+
+  @PostMapping
+  public ResponseEntity<Void> receive(
+          @RequestBody byte[] body,
+          @RequestHeader(value = "X-Hub-Signature", required = false) String signature) {
+    if (secret.isEmpty()) {
+      if (!allowUnsigned) {
+        log.warn("Rejected webhook, no secret is configured to verify it");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+      }
+    } else if (!isValidSignature(body, signature)) {
+      log.warn("Rejected webhook with invalid signature");
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    JiraWebhookEvent event;
+    try {
+      event = objectMapper.readValue(body, JiraWebhookEvent.class);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Payload de webhook invalide: " + e.getMessage(), e);
+    }
+    if (!webhookService.accept(event)) {
+      log.debug("Ignoring webhook event {}", event.getWebhookEvent());
+    }
+    // Jira only needs to know the callback was received
+    return ResponseEntity.accepted().build();
+  }
+
+  private boolean isValidSignature(byte[] body, String signature) {
+    if (signature == null || !signature.startsWith(SIGNATURE_PREFIX)) {
+      return false;
+    }
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+      byte[] expected = mac.doFinal(body);
+      byte[] actual = HexFormat.of().parseHex(signature.substring(SIGNATURE_PREFIX.length()));
+      return MessageDigest.isEqual(expected, actual);
+    } catch (IllegalArgumentException | GeneralSecurityException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuePageDto {
+  private List<IssueSimpleDto> items;
+  /** Opaque cursor of the next page, null on the last page. */
+  private String nextCursor;
+}
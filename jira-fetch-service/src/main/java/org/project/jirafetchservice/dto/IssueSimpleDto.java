@@ -29,4 +29,6 @@ public class IssueSimpleDto {
   private Long timeSpentSeconds;
   private Long originalEstimateSeconds;
   private Double storyPoints;
+
+  private LocalDateTime nextRefreshAt;
 }
\ No newline at end of file
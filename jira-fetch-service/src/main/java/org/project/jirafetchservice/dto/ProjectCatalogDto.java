@@ -0,0 +1,23 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCatalogDto {
+  private String projectKey;
+  private long issueCount;
+  private long openCount;
+  private long resolvedCount;
+  private LocalDateTime lastSyncedAt;
+
+  private LocalDateTime watermarkUpdated;
+  private String watermarkIssueKey;
+}
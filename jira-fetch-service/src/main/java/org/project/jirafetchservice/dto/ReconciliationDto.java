@@ -0,0 +1,20 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationDto {
+  private String projectKey;
+  private long jiraIssues;
+  private long localIssues;
+  private long vanishedIssues;
+  private long deletedIssues;
+  /** Set when the deletions were skipped by the safety limit. */
+  private String abortReason;
+}
@@ -0,0 +1,33 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayJobDto {
+  private UUID id;
+  private String projectKey;
+  private String status;
+
+  private LocalDateTime from;
+  private LocalDateTime to;
+  private Long maxEvents;
+  private int ratePerSecond;
+
+  private long eventsEmitted;
+  private Double eventsPerSecond;
+  private LocalDateTime cursorUpdated;
+  private String cursorIssueKey;
+
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String errorMessage;
+}
@@ -0,0 +1,34 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobDto {
+  private UUID id;
+  private String projectKey;
+  private String status;
+  private boolean fullSync;
+  private int parallelism;
+
+  private long issuesFetched;
+  private long issuesSaved;
+  private long batchesCommitted;
+  private Double issuesPerSecond;
+
+  private LocalDateTime cursorUpdated;
+  private String cursorIssueKey;
+
+  private LocalDateTime createdAt;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private String errorMessage;
+}
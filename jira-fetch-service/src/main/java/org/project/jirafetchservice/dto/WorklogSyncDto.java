@@ -0,0 +1,22 @@
+package org.project.jirafetchservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogSyncDto {
+  private long worklogsFetched;
+  private long worklogsChanged;
+  private long worklogsDeleted;
+  private long issuesFetched;
+
+  private Instant updatedCursor;
+  private Instant deletedCursor;
+}
@@ -39,6 +39,10 @@ public class JiraIssueDbEntity {
   private String issueType;
 
   private String status;
+
+  @Column(name = "status_category")
+  private String statusCategory;
+
   private String priority;
   private String resolution;
 
@@ -69,4 +73,24 @@ public class JiraIssueDbEntity {
 
   @Column(name = "story_points")
   private Double storyPoints;
+
+  // --- Change Detection ---
+
+  @Column(name = "content_hash")
+  private Long contentHash;
+
+  @Column(name = "event_hash")
+  private Long eventHash;
+
+  // --- Refresh Policy ---
+
+  @Column(name = "last_synced_at")
+  private LocalDateTime lastSyncedAt;
+
+  @Column(name = "next_refresh_at")
+  private LocalDateTime nextRefreshAt;
+
+  /** Smoothed interval between observed updates (EWMA). */
+  @Column(name = "change_interval_seconds")
+  private Long changeIntervalSeconds;
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package org.project.jirafetchservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Background synchronization of one project. Every committed batch moves the cursor forward, so
+ * an interrupted or cancelled job resumes right after the last issue it stored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "jira_sync_job")
+public class JiraSyncJob {
+
+  public enum Status {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isActive() {
+      return this == PENDING || this == RUNNING;
+    }
+  }
+
+  @Id
+  private UUID id;
+
+  @Column(name = "project_key", nullable = false)
+  private String projectKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Status status;
+
+  @Column(name = "full_sync", nullable = false)
+  private boolean fullSync;
+
+  @Column(name = "batch_size", nullable = false)
+  private int batchSize;
+
+  @Column(nullable = false)
+  private int parallelism;
+
+  /** Greatest {@code (updated, issueKey)} committed so far, in the order Jira returns them. */
+  @Column(name = "cursor_updated")
+  private LocalDateTime cursorUpdated;
+
+  @Column(name = "cursor_issue_key")
+  private String cursorIssueKey;
+
+  @Column(name = "issues_fetched", nullable = false)
+  private long issuesFetched;
+
+  @Column(name = "issues_saved", nullable = false)
+  private long issuesSaved;
+
+  @Column(name = "batches_committed", nullable = false)
+  private long batchesCommitted;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  /** Refreshed on every committed batch; a stale heartbeat means the owning instance is gone. */
+  @Column(name = "heartbeat_at")
+  private LocalDateTime heartbeatAt;
+
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  @Column(name = "error_message")
+  private String errorMessage;
+}
@@ -0,0 +1,38 @@
+package org.project.jirafetchservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-watermark of the last project synchronization: the greatest {@code (updated, issueKey)}
+ * pair that has been stored locally. The next sync only asks Jira for issues updated since then.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "jira_sync_watermark")
+public class JiraSyncWatermark {
+
+  @Id
+  @Column(name = "project_key", nullable = false)
+  private String projectKey;
+
+  @Column(name = "last_updated", nullable = false)
+  private LocalDateTime lastUpdated;
+
+  @Column(name = "last_issue_key", nullable = false)
+  private String lastIssueKey;
+
+  @Column(name = "synced_at")
+  private LocalDateTime syncedAt;
+}
@@ -1,7 +1,25 @@
 package org.project.jirafetchservice.exception;
 
 public class JiraApiException extends RuntimeException {
+
+  /** HTTP status returned by Jira, 0 when the call did not get an answer. */
+  private final int statusCode;
+
   public JiraApiException(String message) {
+    this(message, 0);
+  }
+
+  public JiraApiException(String message, int statusCode) {
     super(message);
+    this.statusCode = statusCode;
+  }
+
+  public JiraApiException(String message, Throwable cause) {
+    super(message, cause);
+    this.statusCode = 0;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
   }
 }
@@ -52,7 +52,9 @@ public class JiraIssueApiResponse {
 
   // --- Nested Classes ---
   @Data @JsonIgnoreProperties(ignoreUnknown = true)
-  public static class Status { private String name; }
+  public static class Status { private String name; private StatusCategory statusCategory; }
+  @Data @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class StatusCategory { private String key; } // new, indeterminate or done
   @Data @JsonIgnoreProperties(ignoreUnknown = true)
   public static class IssueType { private String name; }
   @Data @JsonIgnoreProperties(ignoreUnknown = true)
@@ -1,6 +1,7 @@
 package org.project.jirafetchservice.jirapi;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,4 +16,14 @@ public class JiraSearchResponse {
   private List<JiraIssueApiResponse> issues;
   private Integer total;
 
+  // --- Token based pagination (/rest/api/3/search/jql) ---
+  private String nextPageToken;
+
+  @JsonProperty("isLast")
+  private Boolean last;
+
+  /** A page is the last one when Jira says so or when it does not hand out a next token. */
+  public boolean isLastPage() {
+    return Boolean.TRUE.equals(last) || nextPageToken == null || nextPageToken.isBlank();
+  }
 }
@@ -0,0 +1,31 @@
+package org.project.jirafetchservice.jirapi;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+/** Body of a Jira webhook callback, only the parts used for synchronization. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JiraWebhookEvent {
+  public static final String ISSUE_CREATED = "jira:issue_created";
+  public static final String ISSUE_UPDATED = "jira:issue_updated";
+  public static final String ISSUE_DELETED = "jira:issue_deleted";
+  public static final String WORKLOG_CREATED = "worklog_created";
+  public static final String WORKLOG_UPDATED = "worklog_updated";
+  public static final String WORKLOG_DELETED = "worklog_deleted";
+
+  private String webhookEvent;
+  private Long timestamp;
+  private JiraIssueApiResponse issue;
+  private Worklog worklog;
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Worklog {
+    private String id;
+    private String issueId;
+  }
+}
@@ -0,0 +1,31 @@
+package org.project.jirafetchservice.jirapi;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of {@code /rest/api/3/worklog/updated} or {@code /worklog/deleted}: the ids changed
+ * after {@code since}. {@code until} is the change time of the last entry and the {@code since}
+ * of the next page.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JiraWorklogChangeResponse {
+  private List<Change> values = new ArrayList<>();
+  private Long since;
+  private Long until;
+  private boolean lastPage;
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Change {
+    private Long worklogId;
+    private Long updatedTime;
+  }
+}
@@ -0,0 +1,27 @@
+package org.project.jirafetchservice.jirapi;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+/** One worklog as returned by {@code POST /rest/api/3/worklog/list}. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JiraWorklogResponse {
+  private String id;
+  private String issueId;
+  private Author author;
+  private String started;
+  private String updated;
+  private Long timeSpentSeconds;
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class Author {
+    private String accountId;
+    private String displayName;
+    private String emailAddress;
+  }
+}
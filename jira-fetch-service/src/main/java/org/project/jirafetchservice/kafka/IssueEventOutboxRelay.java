@@ -0,0 +1,101 @@
+package org.project.jirafetchservice.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.project.jirafetchservice.repository.IssueEventOutboxRepository;
+import org.project.jirafetchservice.repository.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the committed outbox rows to Kafka. Each batch is locked, sent without waiting between
+ * records, acknowledged as a whole and deleted in one transaction; when Kafka is unavailable the
+ * transaction rolls back and the batch is retried on the next run. After an outage the relay
+ * keeps draining full batches back to back until the outbox is empty. Only one relay runs at a
+ * time across all instances, so the events of an issue reach Kafka in the order they were written.
+ */
+@Component
+public class IssueEventOutboxRelay {
+
+  private static final Logger logger = LoggerFactory.getLogger(IssueEventOutboxRelay.class);
+
+  private final IssueEventOutboxRepository outboxRepository;
+  private final KafkaTemplate<String, byte[]> kafkaTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter relayedCounter;
+  private final MeterRegistry meterRegistry;
+  private final int batchSize;
+  private final long sendTimeoutSeconds;
+
+  public IssueEventOutboxRelay(
+      IssueEventOutboxRepository outboxRepository,
+      KafkaTemplate<String, byte[]> kafkaTemplate,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${jira.outbox.relay.batch-size:1000}") int batchSize,
+      @Value("${jira.outbox.relay.send-timeout-seconds:30}") long sendTimeoutSeconds) {
+    this.outboxRepository = outboxRepository;
+    this.kafkaTemplate = kafkaTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.relayedCounter = meterRegistry.counter("jira.outbox.relayed");
+    this.meterRegistry = meterRegistry;
+    this.batchSize = batchSize;
+    this.sendTimeoutSeconds = sendTimeoutSeconds;
+  }
+
+  @Scheduled(fixedDelayString = "${jira.outbox.relay.interval-ms:1000}")
+  public void drain() {
+    try {
+      int relayed;
+      do {
+        relayed = transactionTemplate.execute(status -> relayBatch());
+      } while (relayed == batchSize);
+    } catch (Exception e) {
+      logger.warn("Outbox relay paused, will retry: {}", e.getMessage());
+    }
+  }
+
+  private int relayBatch() {
+    if (!outboxRepository.tryLockRelay()) {
+      return 0; // Another instance is relaying
+    }
+    List<OutboxMessage> batch = outboxRepository.lockBatch(batchSize);
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    CompletableFuture<?>[] sends =
+        batch.stream()
+            .map(message -> kafkaTemplate.send(message.topic(), message.key(), message.payload())
+                .whenComplete((result, ex) -> {
+                  if (ex != null) {
+                    meterRegistry.counter("jira.kafka.send.failures", "topic", message.topic()).increment();
+                  }
+                }))
+            .toArray(CompletableFuture[]::new);
+    kafkaTemplate.flush();
+    try {
+      CompletableFuture.allOf(sends).get(sendTimeoutSeconds, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while relaying outbox", e);
+    } catch (Exception e) {
+      // Rolls the batch back; records already acknowledged are re-sent (at-least-once)
+      throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+    }
+
+    outboxRepository.delete(batch);
+    relayedCounter.increment(batch.size());
+    logger.debug("Relayed {} outbox events to Kafka", batch.size());
+    return batch.size();
+  }
+}
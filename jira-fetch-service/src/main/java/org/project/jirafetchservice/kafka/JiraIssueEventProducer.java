@@ -1,48 +1,77 @@
 package org.project.jirafetchservice.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.project.issueevents.events.IssueDeletedEvent;
 import org.project.issueevents.events.IssueUpsertedEvent;
+import org.project.jirafetchservice.repository.IssueEventOutboxRepository;
+import org.project.jirafetchservice.repository.OutboxMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Publishes issue events through the transactional outbox: they are stored with the issues in the
+ * caller's transaction and sent by {@link IssueEventOutboxRelay} once it has committed.
+ */
 @Component
 public class JiraIssueEventProducer {
 
   private static final Logger logger = LoggerFactory.getLogger(JiraIssueEventProducer.class);
   private static final String TOPIC = "jira.issue.upserted";
+  private static final String DELETED_TOPIC = "jira.issue.deleted";
 
-  private final KafkaTemplate<String, String> kafkaTemplate;
-  private final ObjectMapper mapper;
+  // Thread-safe and reused: serializer lookup happens once instead of per event
+  private static final ObjectWriter EVENT_WRITER =
+      new ObjectMapper().registerModule(new JavaTimeModule()).writerFor(IssueUpsertedEvent.class);
+  private static final ObjectWriter DELETED_WRITER =
+      new ObjectMapper().registerModule(new JavaTimeModule()).writerFor(IssueDeletedEvent.class);
 
-  public JiraIssueEventProducer(KafkaTemplate<String, String> kafkaTemplate) {
-    this.kafkaTemplate = kafkaTemplate;
-    this.mapper = new ObjectMapper();
-    this.mapper.registerModule(new JavaTimeModule());
+  private final IssueEventOutboxRepository outboxRepository;
+
+  public JiraIssueEventProducer(IssueEventOutboxRepository outboxRepository) {
+    this.outboxRepository = outboxRepository;
   }
 
   public void publish(IssueUpsertedEvent event) {
-    try {
-      String key = event.getIssueKey();
-      String payload = mapper.writeValueAsString(event);
-
-      logger.debug("📤 Publishing issue event: {} to topic: {}", key, TOPIC);
-
-      CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(TOPIC, key, payload);
-      future.whenComplete((result, ex) -> {
-        if (ex == null) {
-          logger.info("✅ Successfully published issue event: {} to partition: {}", event.getIssueKey(), result.getRecordMetadata().partition());
-        } else {
-          logger.error("❌ Failed to publish issue event: {}", event.getIssueKey(), ex);
-        }
-      });
-    } catch (Exception e) {
-      logger.error("❌ Failed to serialize event for issue: {}", event.getIssueKey(), e);
+    publish(List.of(event));
+  }
+
+  public void publish(List<IssueUpsertedEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<OutboxMessage> messages = new ArrayList<>(events.size());
+    for (IssueUpsertedEvent event : events) {
+      try {
+        messages.add(OutboxMessage.of(TOPIC, event.getIssueKey(), EVENT_WRITER.writeValueAsBytes(event)));
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize event for issue: " + event.getIssueKey(), e);
+      }
+    }
+    outboxRepository.append(messages);
+    logger.debug("📤 Queued {} issue events for topic: {}", messages.size(), TOPIC);
+  }
+
+  /** Publishes tombstones of issues removed locally, keyed like the upserts they cancel. */
+  public void publishDeleted(List<IssueDeletedEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<OutboxMessage> messages = new ArrayList<>(events.size());
+    for (IssueDeletedEvent event : events) {
+      try {
+        messages.add(OutboxMessage.of(DELETED_TOPIC, event.getIssueKey(), DELETED_WRITER.writeValueAsBytes(event)));
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize tombstone for issue: " + event.getIssueKey(), e);
+      }
     }
+    outboxRepository.append(messages);
+    logger.debug("📤 Queued {} issue tombstones for topic: {}", messages.size(), DELETED_TOPIC);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package org.project.jirafetchservice.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.project.issueevents.events.WorklogUpsertedEvent;
+import org.project.jirafetchservice.repository.IssueEventOutboxRepository;
+import org.project.jirafetchservice.repository.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes worklog events through the same transactional outbox as the issue events. Records are
+ * keyed by worklog id, so an update and a later deletion of one worklog stay in order.
+ */
+@Component
+public class JiraWorklogEventProducer {
+
+  private static final Logger logger = LoggerFactory.getLogger(JiraWorklogEventProducer.class);
+  private static final String TOPIC = "jira.worklog.upserted";
+
+  private static final ObjectWriter EVENT_WRITER =
+      new ObjectMapper().registerModule(new JavaTimeModule()).writerFor(WorklogUpsertedEvent.class);
+
+  private final IssueEventOutboxRepository outboxRepository;
+
+  public JiraWorklogEventProducer(IssueEventOutboxRepository outboxRepository) {
+    this.outboxRepository = outboxRepository;
+  }
+
+  public void publish(List<WorklogUpsertedEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    List<OutboxMessage> messages = new ArrayList<>(events.size());
+    for (WorklogUpsertedEvent event : events) {
+      try {
+        messages.add(OutboxMessage.of(TOPIC, event.getWorklogId(), EVENT_WRITER.writeValueAsBytes(event)));
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize event for worklog: " + event.getWorklogId(), e);
+      }
+    }
+    outboxRepository.append(messages);
+    logger.debug("📤 Queued {} worklog events for topic: {}", messages.size(), TOPIC);
+  }
+}
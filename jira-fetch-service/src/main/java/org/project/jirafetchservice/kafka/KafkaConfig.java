@@ -1,6 +1,7 @@
 package org.project.jirafetchservice.kafka;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -18,17 +19,44 @@ public class KafkaConfig {
   @Value("${spring.kafka.bootstrap-servers}")
   private String bootstrap;
 
+  /** Batches and compresses records for the outbox relay; off falls back to client defaults. */
+  @Value("${jira.kafka.producer.high-throughput:true}")
+  private boolean highThroughput;
+
+  @Value("${jira.kafka.producer.linger-ms:20}")
+  private int lingerMs;
+
+  @Value("${jira.kafka.producer.batch-size:131072}")
+  private int batchSize;
+
+  @Value("${jira.kafka.producer.compression-type:lz4}")
+  private String compressionType;
+
+  @Value("${jira.kafka.producer.max-in-flight:5}")
+  private int maxInFlight;
+
   @Bean
-  public ProducerFactory<String, String> producerFactory() {
+  public ProducerFactory<String, byte[]> producerFactory() {
     Map<String, Object> configProps = new HashMap<>();
     configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
     configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-    configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    // Payloads are serialized once, when written to the outbox
+    configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    // Broker-side de-duplication of retried sends, ordering kept per partition
+    configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+    // Idempotence only preserves ordering with at most 5 requests in flight
+    configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, Math.min(Math.max(maxInFlight, 1), 5));
+    if (highThroughput) {
+      configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+      configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+      configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    }
     return new DefaultKafkaProducerFactory<>(configProps);
   }
 
   @Bean
-  public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+  public KafkaTemplate<String, byte[]> kafkaTemplate(ProducerFactory<String, byte[]> producerFactory) {
     return new KafkaTemplate<>(producerFactory);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package org.project.jirafetchservice.mapper;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+
+/**
+ * Parser of the timestamps returned by Jira ({@code 2024-01-15T10:30:00.000+0100}) and of their
+ * ISO-8601 variants ({@code +01:00}, {@code Z}, optional seconds and fraction).
+ *
+ * <p>Works directly on the characters: no formatter, no intermediate objects and no exceptions,
+ * malformed input yields {@code null}. {@link #parse} keeps the local date-time as written and
+ * only validates the offset, as before; {@link #parseWithOffset} keeps the offset too, for values
+ * that must denote an instant.
+ */
+public final class JiraDateParser {
+
+  private static final int[] NANO_SCALE = {
+    0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+  };
+
+  private static final int INVALID_OFFSET = Integer.MIN_VALUE;
+  private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+
+  private JiraDateParser() {}
+
+  public static LocalDateTime parse(String text) {
+    return parse(text, false) instanceof LocalDateTime local ? local : null;
+  }
+
+  /** Like {@link #parse}, keeping the offset, so that the result denotes an instant. */
+  public static OffsetDateTime parseWithOffset(String text) {
+    return parse(text, true) instanceof OffsetDateTime offset ? offset : null;
+  }
+
+  /** A {@link LocalDateTime}, or an {@link OffsetDateTime} when {@code withOffset}, or null. */
+  private static Object parse(String text, boolean withOffset) {
+    // Shortest accepted form: yyyy-MM-ddTHH:mmZ
+    if (text == null || text.length() < 17) {
+      return null;
+    }
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 2);
+    int day = digits(text, 8, 2);
+    int hour = digits(text, 11, 2);
+    int minute = digits(text, 14, 2);
+    if (year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+        || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':'
+        || day > Month.of(month).length(Year.isLeap(year))) {
+      return null;
+    }
+
+    int length = text.length();
+    int position = 16;
+    int second = 0;
+    int nano = 0;
+    if (text.charAt(position) == ':') {
+      second = digits(text, position + 1, 2);
+      if (second < 0 || second > 59) {
+        return null;
+      }
+      position += 3;
+      if (position < length && text.charAt(position) == '.') {
+        int start = ++position;
+        int fraction = 0;
+        while (position < length && isDigit(text.charAt(position))) {
+          if (position - start == 9) {
+            return null;
+          }
+          fraction = fraction * 10 + (text.charAt(position++) - '0');
+        }
+        if (position == start) {
+          return null;
+        }
+        nano = fraction * NANO_SCALE[position - start];
+      }
+    }
+
+    int offsetSeconds = offsetSeconds(text, position);
+    if (offsetSeconds == INVALID_OFFSET) {
+      return null;
+    }
+    LocalDateTime local = LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    return withOffset ? OffsetDateTime.of(local, ZoneOffset.ofTotalSeconds(offsetSeconds)) : local;
+  }
+
+  /**
+   * Total seconds of {@code Z}, {@code ±HH}, {@code ±HHMM}, {@code ±HH:MM}, {@code ±HHMMSS} or
+   * {@code ±HH:MM:SS}, up to the end, or {@link #INVALID_OFFSET}.
+   */
+  private static int offsetSeconds(String text, int position) {
+    int length = text.length();
+    if (position >= length) {
+      return INVALID_OFFSET;
+    }
+    char sign = text.charAt(position);
+    if (sign == 'Z') {
+      return position + 1 == length ? 0 : INVALID_OFFSET;
+    }
+    if (sign != '+' && sign != '-') {
+      return INVALID_OFFSET;
+    }
+    int hours = digits(text, position + 1, 2);
+    if (hours < 0 || hours > 18) {
+      return INVALID_OFFSET;
+    }
+    int total = hours * 3600;
+    position += 3;
+    boolean colons = position < length && text.charAt(position) == ':';
+    for (int part = 0, unit = 60; part < 2 && position < length; part++, unit /= 60) {
+      if (colons) {
+        if (text.charAt(position) != ':') {
+          return INVALID_OFFSET;
+        }
+        position++;
+      }
+      int value = digits(text, position, 2);
+      if (value < 0 || value > 59) {
+        return INVALID_OFFSET;
+      }
+      total += value * unit;
+      position += 2;
+    }
+    if (position != length || total > MAX_OFFSET_SECONDS) {
+      return INVALID_OFFSET;
+    }
+    return sign == '-' ? -total : total;
+  }
+
+  /** Value of {@code count} decimal digits at {@code offset}, or -1. */
+  private static int digits(String text, int offset, int count) {
+    if (offset + count > text.length()) {
+      return -1;
+    }
+    int value = 0;
+    for (int i = offset; i < offset + count; i++) {
+      char c = text.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
@@ -3,13 +3,13 @@ package org.project.jirafetchservice.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
+import org.project.issueevents.events.IssueUpsertedEvent;
 import org.project.jirafetchservice.dto.IssueSimpleDto;
 import org.project.jirafetchservice.entity.JiraIssueDbEntity;
 import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
 
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 
 @Mapper(componentModel = "spring")
 public interface JiraMapper {
@@ -22,6 +22,7 @@ public interface JiraMapper {
   @Mapping(source = "fields.summary", target = "summary")
   @Mapping(source = "fields.issuetype.name", target = "issueType")
   @Mapping(source = "fields.status.name", target = "status")
+  @Mapping(source = "fields.status.statusCategory.key", target = "statusCategory")
   @Mapping(source = "fields.priority.name", target = "priority")
   @Mapping(source = "fields.resolution.name", target = "resolution")
   @Mapping(source = "fields.assignee.displayName", target = "assignee")
@@ -37,6 +38,11 @@ public interface JiraMapper {
   @Mapping(source = "fields.originalEstimateSeconds", target = "originalEstimateSeconds")
   @Mapping(source = "fields.remainingEstimateSeconds", target = "remainingEstimateSeconds")
   @Mapping(source = "fields.storyPoints", target = "storyPoints")
+  @Mapping(target = "contentHash", ignore = true)
+  @Mapping(target = "eventHash", ignore = true)
+  @Mapping(target = "lastSyncedAt", ignore = true)
+  @Mapping(target = "nextRefreshAt", ignore = true)
+  @Mapping(target = "changeIntervalSeconds", ignore = true)
   JiraIssueDbEntity toDbEntityFromApi(JiraIssueApiResponse apiResponse);
 
   // 2. DB Entity -> Simple DTO
@@ -58,22 +64,29 @@ public interface JiraMapper {
   @Mapping(source = "fields.timeSpentSeconds", target = "timeSpentSeconds")
   @Mapping(source = "fields.originalEstimateSeconds", target = "originalEstimateSeconds")
   @Mapping(source = "fields.storyPoints", target = "storyPoints")
+  @Mapping(target = "nextRefreshAt", ignore = true)
   IssueSimpleDto toSimpleDtoFromApi(JiraIssueApiResponse apiResponse);
 
+  // 4. Simple DTO -> Kafka event
+  default IssueUpsertedEvent toIssueEvent(IssueSimpleDto dto) {
+    return new IssueUpsertedEvent(
+        dto.getProjectKey(),
+        dto.getIssueKey(),
+        dto.getAssignee(),
+        dto.getTimeSpentSeconds(),
+        dto.getStoryPoints(),
+        dto.getResolved() != null ? dto.getResolved().toInstant(ZoneOffset.UTC) : null);
+  }
+
   @Named("parseJiraDate")
   default LocalDateTime parseJiraDate(String dateString) {
-    if (dateString == null || dateString.isEmpty()) return null;
-    try {
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-      return OffsetDateTime.parse(dateString, formatter).toLocalDateTime();
-    } catch (Exception e) {
-      try { return OffsetDateTime.parse(dateString).toLocalDateTime(); } catch(Exception ex) { return null; }
-    }
+    return JiraDateParser.parse(dateString);
   }
 
   @Named("extractProjectKey")
   default String extractProjectKey(String issueKey) {
-    if (issueKey == null || !issueKey.contains("-")) return null;
-    return issueKey.split("-")[0];
+    if (issueKey == null) return null;
+    int dash = issueKey.indexOf('-');
+    return dash < 0 ? null : issueKey.substring(0, dash);
   }
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package org.project.jirafetchservice.repository;
+
+/** Key and counted state of a row removed from {@code jira_issue}. */
+public record DeletedIssue(String issueKey, String projectKey, boolean resolved) {}
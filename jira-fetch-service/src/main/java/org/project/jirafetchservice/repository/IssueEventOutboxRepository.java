@@ -0,0 +1,117 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox of the Kafka events. Rows are appended in the same transaction as the
+ * {@code jira_issue} writes and removed by the relay once Kafka acknowledged them. Like
+ * {@link JiraIssueBulkWriter}, every statement runs on the current Hibernate session's connection.
+ */
+@Repository
+public class IssueEventOutboxRepository {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO issue_event_outbox (topic, message_key, payload) VALUES (?, ?, ?)";
+
+  private static final String LOCK_BATCH_SQL =
+      "SELECT id, topic, message_key, payload FROM issue_event_outbox ORDER BY id LIMIT ? FOR UPDATE";
+
+  // Arbitrary key of the transaction-level advisory lock held by the one active relay ("outbox")
+  private static final long RELAY_LOCK_ID = 0x6f7574626f78L;
+
+  private static final String DELETE_SQL = "DELETE FROM issue_event_outbox WHERE id = ANY (?)";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  public void append(List<OutboxMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (OutboxMessage message : messages) {
+                  statement.setString(1, message.topic());
+                  statement.setString(2, message.key());
+                  statement.setBytes(3, message.payload());
+                  statement.addBatch();
+                }
+                statement.executeBatch();
+              }
+            });
+  }
+
+  /**
+   * Makes the current transaction the only relay, across every instance, until it ends.
+   * Concurrent relays would send events of one issue out of order.
+   *
+   * @return false when another relay holds the lock
+   */
+  public boolean tryLockRelay() {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement statement =
+                  connection.prepareStatement("SELECT pg_try_advisory_xact_lock(?)")) {
+                statement.setLong(1, RELAY_LOCK_ID);
+                try (ResultSet rows = statement.executeQuery()) {
+                  rows.next();
+                  return rows.getBoolean(1);
+                }
+              }
+            });
+  }
+
+  /** Locks and returns the oldest pending messages, until the end of the transaction. */
+  public List<OutboxMessage> lockBatch(int limit) {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(LOCK_BATCH_SQL)) {
+                statement.setInt(1, limit);
+                List<OutboxMessage> batch = new ArrayList<>(limit);
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    batch.add(
+                        new OutboxMessage(
+                            rows.getLong(1), rows.getString(2), rows.getString(3), rows.getBytes(4)));
+                  }
+                }
+                return batch;
+              }
+            });
+  }
+
+  public void delete(List<OutboxMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    session()
+        .doWork(
+            connection -> {
+              Array ids =
+                  connection.createArrayOf(
+                      "bigint", messages.stream().map(OutboxMessage::id).toArray());
+              try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+                statement.setArray(1, ids);
+                statement.executeUpdate();
+              } finally {
+                ids.free();
+              }
+            });
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+}
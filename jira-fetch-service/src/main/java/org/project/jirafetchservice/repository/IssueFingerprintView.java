@@ -0,0 +1,18 @@
+package org.project.jirafetchservice.repository;
+
+import java.time.LocalDateTime;
+
+/** Stored change-detection state of an issue, read without hydrating the entity. */
+public interface IssueFingerprintView {
+  String getIssueKey();
+
+  LocalDateTime getUpdated();
+
+  LocalDateTime getResolved();
+
+  Long getContentHash();
+
+  Long getEventHash();
+
+  Long getChangeIntervalSeconds();
+}
@@ -0,0 +1,297 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set based writes of {@code jira_issue} rows, bypassing the JPA select-then-merge that an
+ * assigned {@code @Id} forces on {@code saveAll}.
+ *
+ * <ul>
+ *   <li>{@link #upsert} sends one {@code INSERT ... ON CONFLICT DO UPDATE} over unnested arrays.
+ *   <li>{@link #copyLoad} streams rows with {@code COPY} into a session temp table and merges them
+ *       with a single statement, for first-time imports of large projects. Its fixed cost makes
+ *       it slower than {@link #upsert} below a few thousand rows, see {@code
+ *       JiraIssueBulkWriterBenchmark}.
+ * </ul>
+ *
+ * Both report which rows they inserted rather than updated, as decided by the write itself, so
+ * that concurrent writers of a new issue count it only once. They run on the connection of the
+ * current Hibernate session, so they commit or roll back with the surrounding transaction.
+ */
+@Repository
+public class JiraIssueBulkWriter {
+
+  private static final List<Column> COLUMNS =
+      List.of(
+          new Column("issue_key", Types.VARCHAR, JiraIssueDbEntity::getIssueKey),
+          new Column("jira_id", Types.VARCHAR, JiraIssueDbEntity::getJiraId),
+          new Column("project_key", Types.VARCHAR, JiraIssueDbEntity::getProjectKey),
+          new Column("self_url", Types.VARCHAR, JiraIssueDbEntity::getSelfUrl),
+          new Column("summary", Types.VARCHAR, JiraIssueDbEntity::getSummary),
+          new Column("issue_type", Types.VARCHAR, JiraIssueDbEntity::getIssueType),
+          new Column("status", Types.VARCHAR, JiraIssueDbEntity::getStatus),
+          new Column("status_category", Types.VARCHAR, JiraIssueDbEntity::getStatusCategory),
+          new Column("priority", Types.VARCHAR, JiraIssueDbEntity::getPriority),
+          new Column("resolution", Types.VARCHAR, JiraIssueDbEntity::getResolution),
+          new Column("assignee", Types.VARCHAR, JiraIssueDbEntity::getAssignee),
+          new Column("assignee_email", Types.VARCHAR, JiraIssueDbEntity::getAssigneeEmail),
+          new Column("reporter", Types.VARCHAR, JiraIssueDbEntity::getReporter),
+          new Column("reporter_email", Types.VARCHAR, JiraIssueDbEntity::getReporterEmail),
+          new Column("created", Types.TIMESTAMP, JiraIssueDbEntity::getCreated),
+          new Column("updated", Types.TIMESTAMP, JiraIssueDbEntity::getUpdated),
+          new Column("resolved", Types.TIMESTAMP, JiraIssueDbEntity::getResolved),
+          new Column("time_spent_seconds", Types.BIGINT, JiraIssueDbEntity::getTimeSpentSeconds),
+          new Column("original_estimate_seconds", Types.BIGINT, JiraIssueDbEntity::getOriginalEstimateSeconds),
+          new Column("remaining_estimate_seconds", Types.BIGINT, JiraIssueDbEntity::getRemainingEstimateSeconds),
+          new Column("story_points", Types.DOUBLE, JiraIssueDbEntity::getStoryPoints),
+          new Column("content_hash", Types.BIGINT, JiraIssueDbEntity::getContentHash),
+          new Column("event_hash", Types.BIGINT, JiraIssueDbEntity::getEventHash),
+          new Column("last_synced_at", Types.TIMESTAMP, JiraIssueDbEntity::getLastSyncedAt),
+          new Column("next_refresh_at", Types.TIMESTAMP, JiraIssueDbEntity::getNextRefreshAt),
+          new Column(
+              "change_interval_seconds", Types.BIGINT, JiraIssueDbEntity::getChangeIntervalSeconds));
+
+  private static final String COLUMN_LIST =
+      COLUMNS.stream().map(Column::name).collect(Collectors.joining(", "));
+
+  private static final String ON_CONFLICT_UPDATE =
+      " ON CONFLICT (issue_key) DO UPDATE SET "
+          + COLUMNS.stream()
+              .skip(1)
+              .map(column -> column.name() + " = EXCLUDED." + column.name())
+              .collect(Collectors.joining(", "));
+
+  // xmax is 0 only on the rows the statement inserted, updated rows carry the updating transaction
+  private static final String RETURNING_INSERTED = " RETURNING issue_key, xmax = 0";
+
+  private static final String UPSERT_SQL =
+      "INSERT INTO jira_issue (" + COLUMN_LIST + ") SELECT * FROM unnest("
+          + COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", "))
+          + ")" + ON_CONFLICT_UPDATE + RETURNING_INSERTED;
+
+  private static final String STAGING_TABLE = "jira_issue_staging";
+
+  private static final String CREATE_STAGING_SQL =
+      "CREATE TEMP TABLE IF NOT EXISTS " + STAGING_TABLE + " AS SELECT " + COLUMN_LIST
+          + " FROM jira_issue WITH NO DATA";
+
+  private static final String COPY_STAGING_SQL =
+      "COPY " + STAGING_TABLE + " (" + COLUMN_LIST + ") FROM STDIN WITH (FORMAT csv)";
+
+  // Empties the staging table in the same statement, no TRUNCATE before or after the load
+  private static final String MERGE_STAGING_SQL =
+      "WITH staged AS (DELETE FROM " + STAGING_TABLE + " RETURNING " + COLUMN_LIST + ") "
+          + "INSERT INTO jira_issue (" + COLUMN_LIST + ") SELECT " + COLUMN_LIST + " FROM staged"
+          + ON_CONFLICT_UPDATE + RETURNING_INSERTED;
+
+  private static final String DELETE_SQL =
+      "DELETE FROM jira_issue WHERE issue_key = ANY (?) RETURNING issue_key, project_key, resolved IS NOT NULL";
+
+  private static final String TOUCH_REFRESH_SQL =
+      "UPDATE jira_issue SET last_synced_at = ?, next_refresh_at = ?, change_interval_seconds = ? "
+          + "WHERE issue_key = ?";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * Inserts or updates the rows in a single statement. When a key occurs more than once, the last
+   * occurrence wins.
+   *
+   * @return keys of the rows that were inserted
+   */
+  public Set<String> upsert(List<JiraIssueDbEntity> issues) {
+    if (issues.isEmpty()) {
+      return Set.of();
+    }
+    return session().doReturningWork(connection -> upsert(connection, issues));
+  }
+
+  static Set<String> upsert(Connection connection, List<JiraIssueDbEntity> issues) throws SQLException {
+    List<Array> arrays = new ArrayList<>(COLUMNS.size());
+    try {
+      Collection<JiraIssueDbEntity> rows = distinct(issues);
+      for (Column column : COLUMNS) {
+        Object[] values =
+            rows.stream()
+                .map(column.accessor())
+                .map(value -> value instanceof LocalDateTime dateTime ? Timestamp.valueOf(dateTime) : value)
+                .toArray();
+        arrays.add(connection.createArrayOf(arrayType(column.sqlType()), values));
+      }
+      try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+        for (int i = 0; i < arrays.size(); i++) {
+          statement.setArray(i + 1, arrays.get(i));
+        }
+        try (ResultSet inserted = statement.executeQuery()) {
+          return insertedKeys(inserted);
+        }
+      }
+    } finally {
+      for (Array array : arrays) {
+        array.free();
+      }
+    }
+  }
+
+  /** Deletes the rows with the given keys and returns the ones that existed. */
+  public List<DeletedIssue> delete(Collection<String> issueKeys) {
+    if (issueKeys.isEmpty()) {
+      return List.of();
+    }
+    return session()
+        .doReturningWork(
+            connection -> {
+              Array keys = connection.createArrayOf("varchar", issueKeys.toArray());
+              try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+                statement.setArray(1, keys);
+                List<DeletedIssue> deleted = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    deleted.add(new DeletedIssue(rows.getString(1), rows.getString(2), rows.getBoolean(3)));
+                  }
+                }
+                return deleted;
+              } finally {
+                keys.free();
+              }
+            });
+  }
+
+  /**
+   * Only stores the refresh bookkeeping of issues that were re-fetched without any change, in a
+   * single JDBC batch.
+   */
+  public void touchRefresh(List<JiraIssueDbEntity> issues) {
+    if (issues.isEmpty()) {
+      return;
+    }
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(TOUCH_REFRESH_SQL)) {
+                for (JiraIssueDbEntity issue : issues) {
+                  statement.setObject(1, timestamp(issue.getLastSyncedAt()), Types.TIMESTAMP);
+                  statement.setObject(2, timestamp(issue.getNextRefreshAt()), Types.TIMESTAMP);
+                  statement.setObject(3, issue.getChangeIntervalSeconds(), Types.BIGINT);
+                  statement.setString(4, issue.getIssueKey());
+                  statement.addBatch();
+                }
+                statement.executeBatch();
+              }
+            });
+  }
+
+  /**
+   * Loads the rows with {@code COPY ... FROM STDIN} into a temp table, then merges them into
+   * {@code jira_issue} in one statement. When a key occurs more than once, the last occurrence
+   * wins.
+   *
+   * @return keys of the rows that were inserted
+   */
+  public Set<String> copyLoad(List<JiraIssueDbEntity> issues) {
+    if (issues.isEmpty()) {
+      return Set.of();
+    }
+    return session().doReturningWork(connection -> copyLoad(connection, issues));
+  }
+
+  static Set<String> copyLoad(Connection connection, List<JiraIssueDbEntity> issues) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(CREATE_STAGING_SQL);
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      copyManager.copyIn(COPY_STAGING_SQL, new StringReader(toCsv(distinct(issues))));
+
+      // Rows may already exist if a previous import was interrupted
+      try (ResultSet inserted = statement.executeQuery(MERGE_STAGING_SQL)) {
+        return insertedKeys(inserted);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("COPY load of " + issues.size() + " issues failed", e);
+    }
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+
+  /** One statement must not touch the same row twice. */
+  private static Collection<JiraIssueDbEntity> distinct(List<JiraIssueDbEntity> issues) {
+    Map<String, JiraIssueDbEntity> distinct = new LinkedHashMap<>();
+    issues.forEach(issue -> distinct.put(issue.getIssueKey(), issue));
+    return distinct.values();
+  }
+
+  private static Set<String> insertedKeys(ResultSet rows) throws SQLException {
+    Set<String> inserted = new HashSet<>();
+    while (rows.next()) {
+      if (rows.getBoolean(2)) {
+        inserted.add(rows.getString(1));
+      }
+    }
+    return inserted;
+  }
+
+  private static String arrayType(int sqlType) {
+    return switch (sqlType) {
+      case Types.VARCHAR -> "varchar";
+      case Types.TIMESTAMP -> "timestamp";
+      case Types.BIGINT -> "bigint";
+      case Types.DOUBLE -> "float8";
+      default -> throw new IllegalArgumentException("Unsupported column type " + sqlType);
+    };
+  }
+
+  private static Timestamp timestamp(LocalDateTime value) {
+    return value != null ? Timestamp.valueOf(value) : null;
+  }
+
+  private static String toCsv(Collection<JiraIssueDbEntity> issues) {
+    StringBuilder csv = new StringBuilder(issues.size() * 256);
+    for (JiraIssueDbEntity issue : issues) {
+      for (int i = 0; i < COLUMNS.size(); i++) {
+        if (i > 0) {
+          csv.append(',');
+        }
+        Object value = COLUMNS.get(i).accessor().apply(issue);
+        if (value instanceof String text) {
+          // Quoted so that an empty string stays distinct from NULL (an unquoted empty field)
+          csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else if (value != null) {
+          csv.append(value);
+        }
+      }
+      csv.append('\n');
+    }
+    return csv.toString();
+  }
+
+  private record Column(String name, int sqlType, Function<JiraIssueDbEntity, Object> accessor) {}
+}
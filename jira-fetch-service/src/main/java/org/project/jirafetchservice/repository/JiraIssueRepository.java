@@ -1,9 +1,14 @@
 package org.project.jirafetchservice.repository;
 
 import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,5 +24,29 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueDbEntity, St
 
   List<JiraIssueDbEntity> findByIssueKeyIn(List<String> issueKeys);
 
-  List<JiraIssueDbEntity> findByProjectKeyIsNotNull();
-}
\ No newline at end of file
+  boolean existsByProjectKey(String projectKey);
+
+  List<JiraIssueDbEntity> findByUpdatedNotNullOrderByUpdatedDesc(Pageable pageable);
+
+  @Query("select i.issueKey as issueKey, i.updated as updated, i.resolved as resolved, "
+      + "i.contentHash as contentHash, "
+      + "i.eventHash as eventHash, i.changeIntervalSeconds as changeIntervalSeconds "
+      + "from JiraIssueDbEntity i where i.issueKey in :issueKeys")
+  List<IssueFingerprintView> findFingerprintsByIssueKeyIn(@Param("issueKeys") Collection<String> issueKeys);
+
+  /**
+   * Keyset page of a project's issues updated in {@code [from, to)}, strictly after the
+   * {@code (afterUpdated, afterIssueKey)} position, in {@code (updated, issueKey)} order.
+   */
+  @Query("select i from JiraIssueDbEntity i where i.projectKey = :projectKey "
+      + "and i.updated >= :from and i.updated < :to "
+      + "and (i.updated > :afterUpdated or (i.updated = :afterUpdated and i.issueKey > :afterIssueKey)) "
+      + "order by i.updated asc, i.issueKey asc")
+  List<JiraIssueDbEntity> findPageAfter(
+      @Param("projectKey") String projectKey,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to,
+      @Param("afterUpdated") LocalDateTime afterUpdated,
+      @Param("afterIssueKey") String afterIssueKey,
+      Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.project.jirafetchservice.entity.JiraSyncJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface JiraSyncJobRepository extends JpaRepository<JiraSyncJob, UUID> {
+  Optional<JiraSyncJob> findFirstByProjectKeyAndStatusIn(String projectKey, Collection<JiraSyncJob.Status> statuses);
+
+  List<JiraSyncJob> findByStatusIn(Collection<JiraSyncJob.Status> statuses);
+
+  /** Locks the job row so that progress updates and cancellation cannot overwrite each other. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select j from JiraSyncJob j where j.id = :id")
+  Optional<JiraSyncJob> findByIdForUpdate(@Param("id") UUID id);
+
+  @Transactional
+  @Modifying
+  @Query("update JiraSyncJob j set j.status = :status, j.finishedAt = :now "
+      + "where j.id = :id and j.status in :from")
+  int transition(@Param("id") UUID id, @Param("from") Collection<JiraSyncJob.Status> from,
+      @Param("status") JiraSyncJob.Status status, @Param("now") LocalDateTime now);
+
+  /** Refreshes the heartbeat of the jobs run by this instance that are still active. */
+  @Transactional
+  @Modifying
+  @Query("update JiraSyncJob j set j.heartbeatAt = :now where j.id in :ids and j.status in :active")
+  int heartbeat(@Param("ids") Collection<UUID> ids, @Param("active") Collection<JiraSyncJob.Status> active,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Takes over a job whose heartbeat is older than {@code staleBefore}. Only one instance can win
+   * the update, so an interrupted job is resumed exactly once.
+   *
+   * @return 1 if the job was claimed
+   */
+  @Transactional
+  @Modifying
+  @Query("update JiraSyncJob j set j.heartbeatAt = :now where j.id = :id "
+      + "and (j.heartbeatAt is null or j.heartbeatAt < :staleBefore)")
+  int claimStale(@Param("id") UUID id, @Param("now") LocalDateTime now,
+      @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,8 @@
+package org.project.jirafetchservice.repository;
+
+import org.project.jirafetchservice.entity.JiraSyncWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JiraSyncWatermarkRepository extends JpaRepository<JiraSyncWatermark, String> {}
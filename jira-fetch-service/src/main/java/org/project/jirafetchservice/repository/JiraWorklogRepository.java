@@ -0,0 +1,208 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Worklogs in {@code jira_worklog} and the since-cursors of the Jira worklog feeds in
+ * {@code jira_worklog_cursor}. Statements run on the current Hibernate session's connection,
+ * inside the caller's transaction.
+ */
+@Repository
+public class JiraWorklogRepository {
+
+  /** Issue and project key of a locally stored issue. */
+  public record IssueRef(String issueKey, String projectKey) {}
+
+  // One statement per page: the unnested arrays let RETURNING report which rows really changed
+  private static final String UPSERT_SQL =
+      "INSERT INTO jira_worklog (worklog_id, issue_id, issue_key, project_key, author, author_account_id, "
+          + "started, time_spent_seconds, updated) "
+          + "SELECT * FROM unnest(?, ?, ?, ?, ?, ?, ?, ?, ?) "
+          + "ON CONFLICT (worklog_id) DO UPDATE SET issue_id = EXCLUDED.issue_id, "
+          + "issue_key = EXCLUDED.issue_key, project_key = EXCLUDED.project_key, author = EXCLUDED.author, "
+          + "author_account_id = EXCLUDED.author_account_id, started = EXCLUDED.started, "
+          + "time_spent_seconds = EXCLUDED.time_spent_seconds, updated = EXCLUDED.updated "
+          + "WHERE (jira_worklog.issue_key, jira_worklog.author, jira_worklog.started, jira_worklog.time_spent_seconds) "
+          + "IS DISTINCT FROM (EXCLUDED.issue_key, EXCLUDED.author, EXCLUDED.started, EXCLUDED.time_spent_seconds) "
+          + "RETURNING worklog_id";
+
+  private static final String DELETE_SQL =
+      "DELETE FROM jira_worklog WHERE worklog_id = ANY (?) RETURNING worklog_id, issue_id, issue_key, "
+          + "project_key, author, author_account_id, started, time_spent_seconds, updated";
+
+  private static final String FIND_ISSUES_SQL =
+      "SELECT jira_id, issue_key, project_key FROM jira_issue WHERE jira_id = ANY (?)";
+
+  private static final String FIND_CURSOR_SQL = "SELECT since_millis FROM jira_worklog_cursor WHERE feed = ?";
+
+  private static final String SAVE_CURSOR_SQL =
+      "INSERT INTO jira_worklog_cursor (feed, since_millis, synced_at) VALUES (?, ?, ?) "
+          + "ON CONFLICT (feed) DO UPDATE SET since_millis = EXCLUDED.since_millis, synced_at = EXCLUDED.synced_at";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * Inserts or updates the given worklogs, which must have distinct ids.
+   *
+   * @return ids of the rows that were new or differ in issue, author, start or duration
+   */
+  public Set<Long> upsert(List<WorklogRow> rows) {
+    if (rows.isEmpty()) {
+      return Set.of();
+    }
+    return session()
+        .doReturningWork(
+            connection -> {
+              List<Array> arrays =
+                  List.of(
+                      array(connection, "bigint", rows, WorklogRow::worklogId),
+                      array(connection, "varchar", rows, WorklogRow::issueId),
+                      array(connection, "varchar", rows, WorklogRow::issueKey),
+                      array(connection, "varchar", rows, WorklogRow::projectKey),
+                      array(connection, "varchar", rows, WorklogRow::author),
+                      array(connection, "varchar", rows, WorklogRow::authorAccountId),
+                      array(connection, "timestamp", rows, row -> timestamp(row.started())),
+                      array(connection, "bigint", rows, WorklogRow::timeSpentSeconds),
+                      array(connection, "timestamp", rows, row -> timestamp(row.updated())));
+              try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (int i = 0; i < arrays.size(); i++) {
+                  statement.setArray(i + 1, arrays.get(i));
+                }
+                Set<Long> changed = new HashSet<>();
+                try (ResultSet result = statement.executeQuery()) {
+                  while (result.next()) {
+                    changed.add(result.getLong(1));
+                  }
+                }
+                return changed;
+              } finally {
+                for (Array array : arrays) {
+                  array.free();
+                }
+              }
+            });
+  }
+
+  /** Deletes the given worklogs and returns the rows that were actually stored. */
+  public List<WorklogRow> delete(Collection<Long> worklogIds) {
+    if (worklogIds.isEmpty()) {
+      return List.of();
+    }
+    return session()
+        .doReturningWork(
+            connection -> {
+              Array ids = connection.createArrayOf("bigint", worklogIds.toArray());
+              try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+                statement.setArray(1, ids);
+                List<WorklogRow> deleted = new ArrayList<>();
+                try (ResultSet result = statement.executeQuery()) {
+                  while (result.next()) {
+                    Timestamp updated = result.getTimestamp(9);
+                    deleted.add(
+                        new WorklogRow(
+                            result.getLong(1),
+                            result.getString(2),
+                            result.getString(3),
+                            result.getString(4),
+                            result.getString(5),
+                            result.getString(6),
+                            result.getTimestamp(7).toLocalDateTime(),
+                            result.getLong(8),
+                            updated != null ? updated.toLocalDateTime() : null));
+                  }
+                }
+                return deleted;
+              } finally {
+                ids.free();
+              }
+            });
+  }
+
+  /** Keys of the locally stored issues, by Jira issue id. Unknown ids are left out. */
+  public Map<String, IssueRef> findIssues(Collection<String> issueIds) {
+    if (issueIds.isEmpty()) {
+      return Map.of();
+    }
+    return session()
+        .doReturningWork(
+            connection -> {
+              Array ids = connection.createArrayOf("varchar", issueIds.toArray());
+              try (PreparedStatement statement = connection.prepareStatement(FIND_ISSUES_SQL)) {
+                statement.setArray(1, ids);
+                Map<String, IssueRef> issues = new HashMap<>();
+                try (ResultSet result = statement.executeQuery()) {
+                  while (result.next()) {
+                    issues.put(result.getString(1), new IssueRef(result.getString(2), result.getString(3)));
+                  }
+                }
+                return issues;
+              } finally {
+                ids.free();
+              }
+            });
+  }
+
+  /** @return the stored since-cursor of the feed in epoch milliseconds, or {@code null} */
+  public Long findCursor(String feed) {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(FIND_CURSOR_SQL)) {
+                statement.setString(1, feed);
+                try (ResultSet result = statement.executeQuery()) {
+                  return result.next() ? result.getLong(1) : null;
+                }
+              }
+            });
+  }
+
+  public void saveCursor(String feed, long sinceMillis) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(SAVE_CURSOR_SQL)) {
+                statement.setString(1, feed);
+                statement.setLong(2, sinceMillis);
+                statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                statement.executeUpdate();
+              }
+            });
+  }
+
+  private static Array array(
+      Connection connection, String type, List<WorklogRow> rows, Function<WorklogRow, Object> column)
+      throws SQLException {
+    Object[] values = new Object[rows.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = column.apply(rows.get(i));
+    }
+    return connection.createArrayOf(type, values);
+  }
+
+  private static Timestamp timestamp(LocalDateTime value) {
+    return value != null ? Timestamp.valueOf(value) : null;
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+}
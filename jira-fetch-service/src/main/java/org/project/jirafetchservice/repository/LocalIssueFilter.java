@@ -0,0 +1,20 @@
+package org.project.jirafetchservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the local issue queries; null fields are not applied. {@code text} is a
+ * web-search style query ({@code "exact phrase"}, {@code or}, {@code -word}) over the issue key
+ * and summary.
+ */
+public record LocalIssueFilter(
+    String projectKey,
+    String assignee,
+    String assigneeEmail,
+    String status,
+    String issueType,
+    String text,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    LocalDateTime updatedFrom,
+    LocalDateTime updatedTo) {}
@@ -0,0 +1,247 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only queries over {@code jira_issue} that map rows straight to {@link IssueSimpleDto},
+ * without loading entities into the persistence context. Results are ordered by
+ * {@code (updated, issue_key)} and paged with a keyset on that pair; rows without
+ * {@code updated} are not returned. Text filters use the {@code search_vector} GIN index. Runs
+ * on the current Hibernate session's connection, so every method must be called inside a
+ * transaction.
+ */
+@Repository
+public class LocalIssueQueryRepository {
+
+  private static final String COLUMNS =
+      "project_key, issue_key, summary, issue_type, status, priority, resolution, assignee, reporter, "
+          + "created, updated, resolved, time_spent_seconds, original_estimate_seconds, story_points, "
+          + "content_hash";
+
+  private static final int STREAM_FETCH_SIZE = 1000;
+
+  // 'simple' like the search_vector column: summaries mix French and English
+  private static final String TEXT_QUERY = "websearch_to_tsquery('simple', ?)";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * A page of issues and a fingerprint of its rows, built from their keys, update times and
+   * content hashes: it changes when a row of the page does, or when the page gets other rows.
+   */
+  public record Page(List<IssueSimpleDto> items, long fingerprint) {}
+
+  /** Up to {@code limit} issues strictly after the {@code (afterUpdated, afterIssueKey)} position. */
+  public Page findPage(
+      LocalIssueFilter filter, LocalDateTime afterUpdated, String afterIssueKey, int limit) {
+    List<IssueSimpleDto> items = new ArrayList<>(limit);
+    long[] fingerprint = {0};
+    query(
+        filter,
+        afterUpdated,
+        afterIssueKey,
+        limit,
+        0,
+        rows -> {
+          IssueSimpleDto issue = toDto(rows);
+          items.add(issue);
+          fingerprint[0] = 31 * fingerprint[0] + issue.getIssueKey().hashCode();
+          fingerprint[0] = 31 * fingerprint[0] + issue.getUpdated().hashCode();
+          fingerprint[0] = 31 * fingerprint[0] + rows.getLong(16);
+        });
+    return new Page(items, fingerprint[0]);
+  }
+
+  /** Streams every matching issue to {@code consumer}, fetching rows in chunks from a cursor. */
+  public void forEach(LocalIssueFilter filter, Consumer<IssueSimpleDto> consumer) {
+    query(filter, null, null, 0, STREAM_FETCH_SIZE, rows -> consumer.accept(toDto(rows)));
+  }
+
+  /**
+   * The {@code limit} best matches: most relevant first when the filter has a text, then most
+   * recently updated first.
+   */
+  public List<IssueSimpleDto> search(LocalIssueFilter filter, int limit) {
+    StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM jira_issue");
+    List<Object> params = new ArrayList<>();
+    appendWhere(sql, params, filter, null, null);
+    sql.append(" ORDER BY ");
+    if (filter.text() != null) {
+      sql.append("ts_rank(search_vector, ").append(TEXT_QUERY).append(") DESC, ");
+      params.add(filter.text());
+    }
+    sql.append("updated DESC, issue_key LIMIT ?");
+    params.add(limit);
+
+    List<IssueSimpleDto> matches = new ArrayList<>(limit);
+    select(sql.toString(), params, 0, rows -> matches.add(toDto(rows)));
+    return matches;
+  }
+
+  /**
+   * Streams the keys of a project's issues last synced before {@code syncedBefore} (or never),
+   * fetching rows in chunks from a cursor.
+   */
+  public void forEachIssueKey(String projectKey, LocalDateTime syncedBefore, Consumer<String> consumer) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement =
+                  connection.prepareStatement(
+                      "SELECT issue_key FROM jira_issue WHERE project_key = ? "
+                          + "AND (last_synced_at IS NULL OR last_synced_at < ?)")) {
+                statement.setString(1, projectKey);
+                statement.setTimestamp(2, Timestamp.valueOf(syncedBefore));
+                statement.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    consumer.accept(rows.getString(1));
+                  }
+                }
+              }
+            });
+  }
+
+  private void query(
+      LocalIssueFilter filter,
+      LocalDateTime afterUpdated,
+      String afterIssueKey,
+      int limit,
+      int fetchSize,
+      RowHandler handler) {
+    StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM jira_issue");
+    List<Object> params = new ArrayList<>();
+    appendWhere(sql, params, filter, afterUpdated, afterIssueKey);
+    sql.append(" ORDER BY updated, issue_key");
+    if (limit > 0) {
+      sql.append(" LIMIT ?");
+      params.add(limit);
+    }
+    select(sql.toString(), params, fetchSize, handler);
+  }
+
+  private void select(String sql, List<Object> params, int fetchSize, RowHandler handler) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = prepare(connection, sql, params)) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    handler.accept(rows);
+                  }
+                }
+              }
+            });
+  }
+
+  private static void appendWhere(
+      StringBuilder sql,
+      List<Object> params,
+      LocalIssueFilter filter,
+      LocalDateTime afterUpdated,
+      String afterIssueKey) {
+    sql.append(" WHERE updated IS NOT NULL");
+    if (filter.projectKey() != null) {
+      sql.append(" AND project_key = ?");
+      params.add(filter.projectKey());
+    }
+    if (filter.assignee() != null) {
+      sql.append(" AND assignee = ?");
+      params.add(filter.assignee());
+    }
+    if (filter.assigneeEmail() != null) {
+      sql.append(" AND assignee_email = ?");
+      params.add(filter.assigneeEmail());
+    }
+    if (filter.status() != null) {
+      sql.append(" AND status = ?");
+      params.add(filter.status());
+    }
+    if (filter.issueType() != null) {
+      sql.append(" AND issue_type = ?");
+      params.add(filter.issueType());
+    }
+    if (filter.text() != null) {
+      sql.append(" AND search_vector @@ ").append(TEXT_QUERY);
+      params.add(filter.text());
+    }
+    if (filter.createdFrom() != null) {
+      sql.append(" AND created >= ?");
+      params.add(Timestamp.valueOf(filter.createdFrom()));
+    }
+    if (filter.createdTo() != null) {
+      sql.append(" AND created < ?");
+      params.add(Timestamp.valueOf(filter.createdTo()));
+    }
+    if (filter.updatedFrom() != null) {
+      sql.append(" AND updated >= ?");
+      params.add(Timestamp.valueOf(filter.updatedFrom()));
+    }
+    if (filter.updatedTo() != null) {
+      sql.append(" AND updated < ?");
+      params.add(Timestamp.valueOf(filter.updatedTo()));
+    }
+    if (afterUpdated != null && afterIssueKey != null) {
+      sql.append(" AND (updated, issue_key) > (?, ?)");
+      params.add(Timestamp.valueOf(afterUpdated));
+      params.add(afterIssueKey);
+    }
+  }
+
+  private static PreparedStatement prepare(Connection connection, String sql, List<Object> params)
+      throws SQLException {
+    PreparedStatement statement = connection.prepareStatement(sql);
+    for (int i = 0; i < params.size(); i++) {
+      statement.setObject(i + 1, params.get(i));
+    }
+    return statement;
+  }
+
+  private static IssueSimpleDto toDto(ResultSet rows) throws SQLException {
+    return IssueSimpleDto.builder()
+        .projectKey(rows.getString(1))
+        .issueKey(rows.getString(2))
+        .summary(rows.getString(3))
+        .issueType(rows.getString(4))
+        .status(rows.getString(5))
+        .priority(rows.getString(6))
+        .resolution(rows.getString(7))
+        .assignee(rows.getString(8))
+        .reporter(rows.getString(9))
+        .created(toLocalDateTime(rows.getTimestamp(10)))
+        .updated(toLocalDateTime(rows.getTimestamp(11)))
+        .resolved(toLocalDateTime(rows.getTimestamp(12)))
+        .timeSpentSeconds(rows.getObject(13, Long.class))
+        .originalEstimateSeconds(rows.getObject(14, Long.class))
+        .storyPoints(rows.getObject(15, Double.class))
+        .build();
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toLocalDateTime() : null;
+  }
+
+  /** Reads the current row of a result set selecting {@link #COLUMNS}. */
+  private interface RowHandler {
+    void accept(ResultSet rows) throws SQLException;
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+}
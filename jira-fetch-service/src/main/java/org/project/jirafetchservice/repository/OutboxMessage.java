@@ -0,0 +1,9 @@
+package org.project.jirafetchservice.repository;
+
+/** One pending Kafka record of {@code issue_event_outbox}; {@code id} is null until stored. */
+public record OutboxMessage(Long id, String topic, String key, byte[] payload) {
+
+  public static OutboxMessage of(String topic, String key, byte[] payload) {
+    return new OutboxMessage(null, topic, key, payload);
+  }
+}
@@ -0,0 +1,159 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.project.jirafetchservice.dto.ProjectCatalogDto;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One row per local project in {@code jira_project_catalog}, with issue counts kept up to date by
+ * the save path instead of being computed from {@code jira_issue}. "Open" means not resolved.
+ * Every delta also bumps the project's {@code version}, whether or not the counts move.
+ * Statements run on the current Hibernate session's connection, inside the caller's transaction.
+ */
+@Repository
+public class ProjectCatalogRepository {
+
+  private static final String APPLY_DELTA_SQL =
+      "INSERT INTO jira_project_catalog "
+          + "(project_key, issue_count, open_count, resolved_count, last_synced_at, version) "
+          + "VALUES (?, ?, ?, ?, ?, 1) ON CONFLICT (project_key) DO UPDATE SET "
+          + "issue_count = jira_project_catalog.issue_count + EXCLUDED.issue_count, "
+          + "open_count = jira_project_catalog.open_count + EXCLUDED.open_count, "
+          + "resolved_count = jira_project_catalog.resolved_count + EXCLUDED.resolved_count, "
+          + "last_synced_at = EXCLUDED.last_synced_at, "
+          + "version = jira_project_catalog.version + 1";
+
+  private static final String FIND_ALL_SQL =
+      "SELECT c.project_key, c.issue_count, c.open_count, c.resolved_count, c.last_synced_at, "
+          + "w.last_updated, w.last_issue_key FROM jira_project_catalog c "
+          + "LEFT JOIN jira_sync_watermark w ON w.project_key = c.project_key "
+          + "WHERE c.issue_count > 0 ORDER BY c.project_key";
+
+  private static final String REBUILD_SQL =
+      "INSERT INTO jira_project_catalog (project_key, issue_count, open_count, resolved_count, last_synced_at) "
+          + "SELECT project_key, count(*), count(*) FILTER (WHERE resolved IS NULL), "
+          + "count(*) FILTER (WHERE resolved IS NOT NULL), now() FROM jira_issue "
+          + "WHERE project_key IS NOT NULL GROUP BY project_key "
+          + "ON CONFLICT (project_key) DO UPDATE SET issue_count = EXCLUDED.issue_count, "
+          + "open_count = EXCLUDED.open_count, resolved_count = EXCLUDED.resolved_count";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  public void applyDeltas(Collection<ProjectCountDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(APPLY_DELTA_SQL)) {
+                for (ProjectCountDelta delta : deltas) {
+                  if (delta.getProjectKey() == null) {
+                    continue;
+                  }
+                  statement.setString(1, delta.getProjectKey());
+                  statement.setLong(2, delta.getIssues());
+                  statement.setLong(3, delta.getOpen());
+                  statement.setLong(4, delta.getResolved());
+                  statement.setTimestamp(5, now);
+                  statement.addBatch();
+                }
+                statement.executeBatch();
+              }
+            });
+  }
+
+  public List<ProjectCatalogDto> findAll() {
+    return session()
+        .doReturningWork(
+            connection -> {
+              List<ProjectCatalogDto> projects = new ArrayList<>();
+              try (PreparedStatement statement = connection.prepareStatement(FIND_ALL_SQL);
+                  ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                  Timestamp lastSyncedAt = rows.getTimestamp(5);
+                  Timestamp watermarkUpdated = rows.getTimestamp(6);
+                  projects.add(
+                      ProjectCatalogDto.builder()
+                          .projectKey(rows.getString(1))
+                          .issueCount(rows.getLong(2))
+                          .openCount(rows.getLong(3))
+                          .resolvedCount(rows.getLong(4))
+                          .lastSyncedAt(lastSyncedAt != null ? lastSyncedAt.toLocalDateTime() : null)
+                          .watermarkUpdated(
+                              watermarkUpdated != null ? watermarkUpdated.toLocalDateTime() : null)
+                          .watermarkIssueKey(rows.getString(7))
+                          .build());
+                }
+              }
+              return projects;
+            });
+  }
+
+  public boolean isEmpty() {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (Statement statement = connection.createStatement();
+                  ResultSet rows =
+                      statement.executeQuery("SELECT NOT EXISTS (SELECT 1 FROM jira_project_catalog)")) {
+                rows.next();
+                return rows.getBoolean(1);
+              }
+            });
+  }
+
+  /**
+   * Version of a project's issues, or the sum over every project when {@code projectKey} is null.
+   * Versions only grow, so the sum changes whenever one of them does.
+   */
+  public long version(String projectKey) {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement statement =
+                  connection.prepareStatement(
+                      "SELECT coalesce(sum(version), 0) FROM jira_project_catalog"
+                          + (projectKey != null ? " WHERE project_key = ?" : ""))) {
+                if (projectKey != null) {
+                  statement.setString(1, projectKey);
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                  rows.next();
+                  return rows.getLong(1);
+                }
+              }
+            });
+  }
+
+  /** Recomputes every project's counts from {@code jira_issue} with a single GROUP BY. */
+  public void rebuild() {
+    session()
+        .doWork(
+            connection -> {
+              try (Statement statement = connection.createStatement()) {
+                // Lock out concurrent delta updates so that none is lost by the recount
+                statement.execute("LOCK TABLE jira_project_catalog IN EXCLUSIVE MODE");
+                statement.executeUpdate(
+                    "UPDATE jira_project_catalog SET issue_count = 0, open_count = 0, resolved_count = 0");
+                statement.executeUpdate(REBUILD_SQL);
+              }
+            });
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+}
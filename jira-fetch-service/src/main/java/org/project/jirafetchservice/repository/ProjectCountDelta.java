@@ -0,0 +1,44 @@
+package org.project.jirafetchservice.repository;
+
+import lombok.Getter;
+
+/** Change of a project's issue counts, accumulated while a batch is saved. */
+@Getter
+public class ProjectCountDelta {
+  private final String projectKey;
+  private long issues;
+  private long open;
+  private long resolved;
+
+  public ProjectCountDelta(String projectKey) {
+    this.projectKey = projectKey;
+  }
+
+  /** An issue was inserted. */
+  public void added(boolean isResolved) {
+    issues++;
+    count(isResolved, 1);
+  }
+
+  /** An issue was deleted. */
+  public void removed(boolean wasResolved) {
+    issues--;
+    count(wasResolved, -1);
+  }
+
+  /** An existing issue was resolved or reopened. */
+  public void moved(boolean wasResolved, boolean isResolved) {
+    if (wasResolved != isResolved) {
+      count(wasResolved, -1);
+      count(isResolved, 1);
+    }
+  }
+
+  private void count(boolean isResolved, long delta) {
+    if (isResolved) {
+      resolved += delta;
+    } else {
+      open += delta;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package org.project.jirafetchservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scheduling state shared by every running instance: one lease per project in
+ * {@code jira_sync_lease} and one heartbeat per instance in {@code jira_sync_instance}. A project
+ * is synced by the instance holding its unexpired lease; an instance that dies simply lets its
+ * leases expire. Statements run on the current Hibernate session's connection, inside the
+ * caller's transaction.
+ */
+@Repository
+public class SyncLeaseRepository {
+
+  private static final String HEARTBEAT_SQL =
+      "INSERT INTO jira_sync_instance (instance_id, heartbeat_at) VALUES (?, ?) "
+          + "ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = EXCLUDED.heartbeat_at";
+
+  private static final String SEED_SQL =
+      "INSERT INTO jira_sync_lease (project_key, next_sync_at) "
+          + "SELECT project_key, ? FROM jira_project_catalog WHERE issue_count > 0 "
+          + "ON CONFLICT (project_key) DO NOTHING";
+
+  // SKIP LOCKED: instances claiming at the same moment get disjoint projects
+  private static final String CLAIM_SQL =
+      "UPDATE jira_sync_lease SET owner = ?, lease_until = ? WHERE project_key IN ("
+          + "SELECT project_key FROM jira_sync_lease WHERE next_sync_at <= ? "
+          + "AND (lease_until IS NULL OR lease_until < ?) ORDER BY next_sync_at LIMIT ? "
+          + "FOR UPDATE SKIP LOCKED) RETURNING project_key";
+
+  private static final String RENEW_SQL =
+      "UPDATE jira_sync_lease SET lease_until = ? WHERE owner = ? AND project_key = ANY (?) "
+          + "RETURNING project_key";
+
+  private static final String COMPLETE_SQL =
+      "UPDATE jira_sync_lease SET owner = NULL, lease_until = NULL, last_sync_at = ?, "
+          + "next_sync_at = ? + make_interval(secs => coalesce(interval_seconds, ?)) "
+          + "WHERE project_key = ? AND owner = ?";
+
+  @PersistenceContext private EntityManager entityManager;
+
+  /**
+   * Records the instance as alive and forgets the ones silent since {@code staleBefore}.
+   *
+   * @return the number of live instances, this one included
+   */
+  public int heartbeat(String instanceId, LocalDateTime now, LocalDateTime staleBefore) {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement upsert = connection.prepareStatement(HEARTBEAT_SQL);
+                  PreparedStatement prune =
+                      connection.prepareStatement("DELETE FROM jira_sync_instance WHERE heartbeat_at < ?");
+                  PreparedStatement count =
+                      connection.prepareStatement("SELECT count(*) FROM jira_sync_instance")) {
+                upsert.setString(1, instanceId);
+                upsert.setTimestamp(2, Timestamp.valueOf(now));
+                upsert.executeUpdate();
+                prune.setTimestamp(1, Timestamp.valueOf(staleBefore));
+                prune.executeUpdate();
+                try (ResultSet rows = count.executeQuery()) {
+                  rows.next();
+                  return rows.getInt(1);
+                }
+              }
+            });
+  }
+
+  /** Creates a lease, due right away, for every catalog project that has none yet. */
+  public void seedFromCatalog(LocalDateTime now) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(SEED_SQL)) {
+                statement.setTimestamp(1, Timestamp.valueOf(now));
+                statement.executeUpdate();
+              }
+            });
+  }
+
+  /** Leases up to {@code limit} due projects that nobody holds, most overdue first. */
+  public List<String> claimDue(String owner, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+    return session()
+        .doReturningWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(CLAIM_SQL)) {
+                statement.setString(1, owner);
+                statement.setTimestamp(2, Timestamp.valueOf(leaseUntil));
+                statement.setTimestamp(3, Timestamp.valueOf(now));
+                statement.setTimestamp(4, Timestamp.valueOf(now));
+                statement.setInt(5, limit);
+                List<String> claimed = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    claimed.add(rows.getString(1));
+                  }
+                }
+                return claimed;
+              }
+            });
+  }
+
+  /** Extends the leases still held by {@code owner} and returns their projects. */
+  public Set<String> renew(String owner, Collection<String> projectKeys, LocalDateTime leaseUntil) {
+    if (projectKeys.isEmpty()) {
+      return Set.of();
+    }
+    return session()
+        .doReturningWork(
+            connection -> {
+              Array keys = connection.createArrayOf("varchar", projectKeys.toArray());
+              try (PreparedStatement statement = connection.prepareStatement(RENEW_SQL)) {
+                statement.setTimestamp(1, Timestamp.valueOf(leaseUntil));
+                statement.setString(2, owner);
+                statement.setArray(3, keys);
+                Set<String> renewed = new HashSet<>();
+                try (ResultSet rows = statement.executeQuery()) {
+                  while (rows.next()) {
+                    renewed.add(rows.getString(1));
+                  }
+                }
+                return renewed;
+              } finally {
+                keys.free();
+              }
+            });
+  }
+
+  /** Releases the lease and schedules the next sync of the project, after its interval. */
+  public void complete(String owner, String projectKey, LocalDateTime now, long defaultIntervalSeconds) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement = connection.prepareStatement(COMPLETE_SQL)) {
+                statement.setTimestamp(1, Timestamp.valueOf(now));
+                statement.setTimestamp(2, Timestamp.valueOf(now));
+                statement.setLong(3, defaultIntervalSeconds);
+                statement.setString(4, projectKey);
+                statement.setString(5, owner);
+                statement.executeUpdate();
+              }
+            });
+  }
+
+  /** Gives up every lease of the instance and its heartbeat, e.g. on shutdown. */
+  public void releaseAll(String owner) {
+    session()
+        .doWork(
+            connection -> {
+              try (PreparedStatement release =
+                      connection.prepareStatement(
+                          "UPDATE jira_sync_lease SET owner = NULL, lease_until = NULL WHERE owner = ?");
+                  PreparedStatement forget =
+                      connection.prepareStatement("DELETE FROM jira_sync_instance WHERE instance_id = ?")) {
+                release.setString(1, owner);
+                release.executeUpdate();
+                forget.setString(1, owner);
+                forget.executeUpdate();
+              }
+            });
+  }
+
+  private Session session() {
+    return entityManager.unwrap(Session.class);
+  }
+}
@@ -0,0 +1,18 @@
+package org.project.jirafetchservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of {@code jira_worklog}. Issue and project keys are null when the issue is unknown;
+ * {@code started} and {@code updated} are in UTC.
+ */
+public record WorklogRow(
+    long worklogId,
+    String issueId,
+    String issueKey,
+    String projectKey,
+    String author,
+    String authorAccountId,
+    LocalDateTime started,
+    long timeSpentSeconds,
+    LocalDateTime updated) {}
@@ -0,0 +1,256 @@
+package org.project.jirafetchservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.project.issueevents.events.IssueUpsertedEvent;
+import org.project.jirafetchservice.client.SyncLane;
+import org.project.jirafetchservice.dto.ReplayJobDto;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.kafka.JiraIssueEventProducer;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Re-emits {@link IssueUpsertedEvent}s from {@code jira_issue} so that downstream services can
+ * rebuild their state without calling Jira. Rows are read with keyset pagination on
+ * {@code (updated, issue_key)} and published through the outbox, paced to the requested rate.
+ * Progress is kept in memory only: a replay is idempotent and can simply be started again.
+ * Finished replays stay visible for {@code jira.replay.retention-minutes}.
+ */
+@Service
+public class IssueEventReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssueEventReplayService.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JiraIssueRepository jiraIssueRepository;
+    private final JiraMapper jiraMapper;
+    private final JiraIssueEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int defaultRatePerSecond;
+
+    private final SyncLaneExecutor laneExecutor;
+
+    private final Cache<UUID, ReplayJob> jobs;
+
+    public IssueEventReplayService(
+            JiraIssueRepository jiraIssueRepository,
+            JiraMapper jiraMapper,
+            JiraIssueEventProducer eventProducer,
+            TransactionTemplate transactionTemplate,
+            SyncLaneExecutor laneExecutor,
+            @Value("${jira.replay.page-size:500}") int pageSize,
+            @Value("${jira.replay.default-rate-per-second:1000}") int defaultRatePerSecond,
+            @Value("${jira.replay.retention-minutes:60}") long retentionMinutes,
+            @Value("${jira.replay.max-jobs:1000}") long maxJobs) {
+        this.jiraIssueRepository = jiraIssueRepository;
+        this.jiraMapper = jiraMapper;
+        this.eventProducer = eventProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.laneExecutor = laneExecutor;
+        this.pageSize = pageSize;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maxJobs)
+                .expireAfter(new FinishedJobExpiry(Duration.ofMinutes(retentionMinutes)))
+                .build();
+    }
+
+    /**
+     * @param from inclusive lower bound on {@code updated}, beginning of time when null
+     * @param to exclusive upper bound on {@code updated}, now when null
+     * @param maxEvents the replay stops once that many events were emitted, unbounded when null
+     * @param ratePerSecond maximum events per second, the configured default when null
+     */
+    public ReplayJobDto start(String projectKey, LocalDateTime from, LocalDateTime to,
+            Long maxEvents, Integer ratePerSecond) {
+        ReplayJob job = new ReplayJob(
+                UUID.randomUUID(),
+                projectKey,
+                from != null ? from : EPOCH,
+                to != null ? to : LocalDateTime.now(),
+                maxEvents,
+                ratePerSecond != null && ratePerSecond > 0 ? ratePerSecond : defaultRatePerSecond);
+        jobs.put(job.id, job);
+        laneExecutor.execute(SyncLane.BULK, () -> run(job));
+        return job.toDto();
+    }
+
+    public Optional<ReplayJobDto> find(UUID jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(ReplayJob::toDto);
+    }
+
+    public Optional<ReplayJobDto> cancel(UUID jobId) {
+        ReplayJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        return Optional.of(job.toDto());
+    }
+
+    private void run(ReplayJob job) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        logger.info("Starting replay {} of project {} [{} - {}) at {} events/s",
+                job.id, job.projectKey, job.from, job.to, job.ratePerSecond);
+
+        try {
+            LocalDateTime afterUpdated = job.from;
+            String afterIssueKey = "";
+            // Keep pages around one second of events so pacing stays smooth
+            int limit = Math.max(1, Math.min(pageSize, job.ratePerSecond));
+
+            while (!job.cancelled) {
+                int remaining = job.maxEvents == null
+                        ? limit
+                        : (int) Math.min(limit, job.maxEvents - job.eventsEmitted);
+                if (remaining <= 0) {
+                    break;
+                }
+
+                LocalDateTime pageAfterUpdated = afterUpdated;
+                String pageAfterIssueKey = afterIssueKey;
+                List<JiraIssueDbEntity> page = transactionTemplate.execute(status -> {
+                    List<JiraIssueDbEntity> rows = jiraIssueRepository.findPageAfter(job.projectKey,
+                            job.from, job.to, pageAfterUpdated, pageAfterIssueKey, PageRequest.of(0, remaining));
+                    eventProducer.publish(rows.stream()
+                            .map(jiraMapper::toSimpleDtoFromDb)
+                            .map(jiraMapper::toIssueEvent)
+                            .toList());
+                    return rows;
+                });
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+
+                JiraIssueDbEntity last = page.get(page.size() - 1);
+                afterUpdated = last.getUpdated();
+                afterIssueKey = last.getIssueKey();
+                job.cursorUpdated = afterUpdated;
+                job.cursorIssueKey = afterIssueKey;
+                job.eventsEmitted += page.size();
+
+                pace(startNanos, job.eventsEmitted, job.ratePerSecond);
+            }
+
+            job.status = job.cancelled ? "CANCELLED" : "COMPLETED";
+            logger.info("Replay {} of project {} {} after {} events",
+                    job.id, job.projectKey, job.status, job.eventsEmitted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.status = "CANCELLED";
+        } catch (Exception e) {
+            logger.error("Replay {} of project {} failed: {}", job.id, job.projectKey, e.getMessage(), e);
+            job.status = "FAILED";
+            job.errorMessage = e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            // Written again so that its retention starts now
+            jobs.put(job.id, job);
+        }
+    }
+
+    /** Sleeps until {@code emitted} events fit within {@code ratePerSecond} since the start. */
+    private static void pace(long startNanos, long emitted, int ratePerSecond) throws InterruptedException {
+        long dueNanos = emitted * 1_000_000_000L / ratePerSecond;
+        long aheadNanos = dueNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            Thread.sleep(Duration.ofNanos(aheadNanos));
+        }
+    }
+
+    /** Running replays never expire, finished ones once the retention has passed. */
+    private static final class FinishedJobExpiry implements Expiry<UUID, ReplayJob> {
+        private final long retentionNanos;
+
+        private FinishedJobExpiry(Duration retention) {
+            this.retentionNanos = retention.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(UUID id, ReplayJob job, long currentTime) {
+            return job.finishedAt != null ? retentionNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, ReplayJob job, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, job, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, ReplayJob job, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class ReplayJob {
+        private final UUID id;
+        private final String projectKey;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Long maxEvents;
+        private final int ratePerSecond;
+
+        private volatile String status = "PENDING";
+        private volatile boolean cancelled;
+        private volatile long eventsEmitted;
+        private volatile LocalDateTime cursorUpdated;
+        private volatile String cursorIssueKey;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String errorMessage;
+
+        private ReplayJob(UUID id, String projectKey, LocalDateTime from, LocalDateTime to,
+                Long maxEvents, int ratePerSecond) {
+            this.id = id;
+            this.projectKey = projectKey;
+            this.from = from;
+            this.to = to;
+            this.maxEvents = maxEvents;
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        private ReplayJobDto toDto() {
+            Double eventsPerSecond = null;
+            if (startedAt != null) {
+                LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+                long millis = Duration.between(startedAt, end).toMillis();
+                if (millis > 0) {
+                    eventsPerSecond = eventsEmitted * 1000.0 / millis;
+                }
+            }
+            return ReplayJobDto.builder()
+                    .id(id)
+                    .projectKey(projectKey)
+                    .status(status)
+                    .from(from)
+                    .to(to)
+                    .maxEvents(maxEvents)
+                    .ratePerSecond(ratePerSecond)
+                    .eventsEmitted(eventsEmitted)
+                    .eventsPerSecond(eventsPerSecond)
+                    .cursorUpdated(cursorUpdated)
+                    .cursorIssueKey(cursorIssueKey)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+
+import java.util.Objects;
+
+/**
+ * 64-bit FNV-1a fingerprints of a mapped issue, used to detect that a re-fetched issue did not
+ * change. Two fingerprints are kept: one over every stored column (decides whether the row is
+ * written) and one over the fields carried by {@code IssueUpsertedEvent} (decides whether an
+ * event is published), so edits that downstream consumers cannot see do not produce events.
+ */
+public final class IssueFingerprints {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // Separates values so that ("ab", "c") and ("a", "bc") hash differently
+    private static final char SEPARATOR = '\u001f';
+
+    private IssueFingerprints() {}
+
+    /** Fingerprint of every persisted Jira field, i.e. without the fingerprints and refresh bookkeeping. */
+    public static long contentHash(JiraIssueDbEntity issue) {
+        return hash(
+                issue.getIssueKey(), issue.getJiraId(), issue.getProjectKey(), issue.getSelfUrl(),
+                issue.getSummary(), issue.getIssueType(), issue.getStatus(), issue.getStatusCategory(), issue.getPriority(),
+                issue.getResolution(), issue.getAssignee(), issue.getAssigneeEmail(), issue.getReporter(),
+                issue.getReporterEmail(), issue.getCreated(), issue.getUpdated(), issue.getResolved(),
+                issue.getTimeSpentSeconds(), issue.getOriginalEstimateSeconds(),
+                issue.getRemainingEstimateSeconds(), issue.getStoryPoints());
+    }
+
+    /** Fingerprint of the fields published in {@code IssueUpsertedEvent}. */
+    public static long eventHash(JiraIssueDbEntity issue) {
+        return hash(
+                issue.getProjectKey(), issue.getIssueKey(), issue.getAssignee(),
+                issue.getTimeSpentSeconds(), issue.getStoryPoints(), issue.getResolved());
+    }
+
+    /** Computes and stores both fingerprints on the entity. */
+    public static void apply(JiraIssueDbEntity issue) {
+        issue.setContentHash(contentHash(issue));
+        issue.setEventHash(eventHash(issue));
+    }
+
+    private static long hash(Object... values) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object value : values) {
+            String text = Objects.toString(value, "\u0000");
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,60 @@
+package org.project.jirafetchservice.service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of the issue keys of one project. Keys of the form {@code PROJECT-<n>} are stored as bit
+ * {@code n} of a {@link BitSet}, i.e. about one bit per issue number instead of a String and a
+ * hash entry per key; anything else falls back to a regular set.
+ */
+final class IssueKeySet {
+
+    private final String prefix;
+    private final BitSet numbers = new BitSet();
+    private final Set<String> others = new HashSet<>();
+    private int size;
+
+    IssueKeySet(String projectKey) {
+        this.prefix = projectKey + "-";
+    }
+
+    void add(String issueKey) {
+        int number = number(issueKey);
+        if (number >= 0) {
+            if (!numbers.get(number)) {
+                numbers.set(number);
+                size++;
+            }
+        } else if (others.add(issueKey)) {
+            size++;
+        }
+    }
+
+    boolean contains(String issueKey) {
+        int number = number(issueKey);
+        return number >= 0 ? numbers.get(number) : others.contains(issueKey);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Issue number of a key of this project, or -1. */
+    private int number(String issueKey) {
+        if (issueKey == null || !issueKey.startsWith(prefix) || issueKey.length() == prefix.length()
+                || issueKey.length() - prefix.length() > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = prefix.length(); i < issueKey.length(); i++) {
+            char c = issueKey.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
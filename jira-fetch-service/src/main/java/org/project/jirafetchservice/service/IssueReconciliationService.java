@@ -0,0 +1,138 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.client.JiraFieldProfile;
+import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.client.SyncLane;
+import org.project.jirafetchservice.dto.ReconciliationDto;
+import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
+import org.project.jirafetchservice.repository.LocalIssueQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Removes local issues that were deleted in Jira or moved to another project.
+ *
+ * <p>The project is listed from Jira with keys only, into an {@link IssueKeySet}, then the local
+ * keys are streamed and diffed against it. Rows synced after the Jira listing started are left
+ * alone, since the listing may predate them. Vanished issues are deleted in chunks, each with its
+ * catalog update and tombstone events. A safety limit skips the deletions when a suspiciously
+ * large share of the project vanished, e.g. after a permission change on the Jira account.
+ */
+@Service
+public class IssueReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssueReconciliationService.class);
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    private static final int MIN_GUARDED_DELETIONS = 10;
+
+    private final JiraWebClient jiraWebClient;
+    private final LocalIssueQueryRepository localIssueQueryRepository;
+    private final JiraIssueService jiraIssueService;
+    private final ProjectCatalogService projectCatalogService;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncLaneExecutor laneExecutor;
+    private final int pageSize;
+    private final double maxDeleteRatio;
+
+    public IssueReconciliationService(
+            JiraWebClient jiraWebClient,
+            LocalIssueQueryRepository localIssueQueryRepository,
+            JiraIssueService jiraIssueService,
+            ProjectCatalogService projectCatalogService,
+            TransactionTemplate transactionTemplate,
+            SyncLaneExecutor laneExecutor,
+            @Value("${jira.reconcile.page-size:1000}") int pageSize,
+            @Value("${jira.reconcile.max-delete-ratio:0.5}") double maxDeleteRatio) {
+        this.jiraWebClient = jiraWebClient;
+        this.localIssueQueryRepository = localIssueQueryRepository;
+        this.jiraIssueService = jiraIssueService;
+        this.projectCatalogService = projectCatalogService;
+        this.transactionTemplate = transactionTemplate;
+        this.laneExecutor = laneExecutor;
+        this.pageSize = pageSize;
+        this.maxDeleteRatio = maxDeleteRatio;
+    }
+
+    /** Nightly pass over every local project; {@code jira.reconcile.cron=-} disables it. */
+    @Scheduled(cron = "${jira.reconcile.cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        for (String projectKey : projectCatalogService.getAllLocalProjectKeys()) {
+            try {
+                reconcile(projectKey, false);
+            } catch (Exception e) {
+                logger.warn("Reconciliation of project {} failed: {}", projectKey, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reconciles the project in the bulk lane.
+     *
+     * @param force delete the vanished issues even beyond the safety limit
+     */
+    public ReconciliationDto reconcile(String projectKey, boolean force) {
+        return laneExecutor.call(SyncLane.BULK, () -> doReconcile(projectKey, force));
+    }
+
+    private ReconciliationDto doReconcile(String projectKey, boolean force) {
+        LocalDateTime scanStart = LocalDateTime.now();
+        IssueKeySet jiraKeys = new IssueKeySet(projectKey);
+        try (Stream<List<String>> pages = jiraWebClient.streamSearchPages(
+                JiraWebClient.projectJql(projectKey), JiraFieldProfile.KEYS, pageSize, JiraIssueApiResponse::getKey)) {
+            pages.forEach(page -> page.forEach(jiraKeys::add));
+        }
+
+        AtomicLong localIssues = new AtomicLong();
+        List<String> vanished = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status ->
+                localIssueQueryRepository.forEachIssueKey(projectKey, scanStart, issueKey -> {
+                    localIssues.incrementAndGet();
+                    if (!jiraKeys.contains(issueKey)) {
+                        vanished.add(issueKey);
+                    }
+                }));
+
+        String abortReason = force ? null : checkDeleteLimit(jiraKeys.size(), localIssues.get(), vanished.size());
+        long deleted = 0;
+        if (abortReason == null) {
+            for (int i = 0; i < vanished.size(); i += DELETE_CHUNK_SIZE) {
+                List<String> chunk = vanished.subList(i, Math.min(i + DELETE_CHUNK_SIZE, vanished.size()));
+                deleted += transactionTemplate.execute(status -> jiraIssueService.deleteLocalIssues(chunk));
+            }
+            logger.info("Reconciled project {}: {} issues in Jira, {} local, {} deleted",
+                    projectKey, jiraKeys.size(), localIssues.get(), deleted);
+        } else {
+            logger.warn("Reconciliation of project {} skipped {} deletions: {}",
+                    projectKey, vanished.size(), abortReason);
+        }
+
+        return ReconciliationDto.builder()
+                .projectKey(projectKey)
+                .jiraIssues(jiraKeys.size())
+                .localIssues(localIssues.get())
+                .vanishedIssues(vanished.size())
+                .deletedIssues(deleted)
+                .abortReason(abortReason)
+                .build();
+    }
+
+    private String checkDeleteLimit(long jiraIssues, long localIssues, long vanished) {
+        if (jiraIssues == 0 && vanished > 0) {
+            return "Jira returned no issue for the project";
+        }
+        if (vanished > MIN_GUARDED_DELETIONS && vanished > localIssues * maxDeleteRatio) {
+            return vanished + " of " + localIssues + " local issues vanished, above the ratio " + maxDeleteRatio;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.repository.IssueFingerprintView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Per-issue freshness: decides how long a stored issue may be served without asking Jira again.
+ *
+ * <p>Every fetch feeds the interval between two observed {@code updated} values into an EWMA.
+ * The refresh interval is a fraction of the larger of that average and the time the issue has
+ * been quiet, so busy issues are re-fetched within minutes while untouched ones back off to the
+ * configured maximum. Issues in the {@code done} status category back off to days.
+ */
+@Component
+public class IssueRefreshPolicy {
+
+    private static final String DONE_CATEGORY = "done";
+
+    private final double alpha;
+    private final double ttlFactor;
+    private final long minTtlSeconds;
+    private final long maxTtlSeconds;
+    private final long doneMinTtlSeconds;
+    private final long doneMaxTtlSeconds;
+
+    public IssueRefreshPolicy(
+            @Value("${jira.refresh.ewma-alpha:0.3}") double alpha,
+            @Value("${jira.refresh.ttl-factor:0.25}") double ttlFactor,
+            @Value("${jira.refresh.min-ttl-seconds:60}") long minTtlSeconds,
+            @Value("${jira.refresh.max-ttl-seconds:21600}") long maxTtlSeconds,
+            @Value("${jira.refresh.done-min-ttl-seconds:86400}") long doneMinTtlSeconds,
+            @Value("${jira.refresh.done-max-ttl-seconds:604800}") long doneMaxTtlSeconds) {
+        this.alpha = alpha;
+        this.ttlFactor = ttlFactor;
+        this.minTtlSeconds = minTtlSeconds;
+        this.maxTtlSeconds = Math.max(minTtlSeconds, maxTtlSeconds);
+        this.doneMinTtlSeconds = doneMinTtlSeconds;
+        this.doneMaxTtlSeconds = Math.max(doneMinTtlSeconds, doneMaxTtlSeconds);
+    }
+
+    /** @return whether an issue due for refresh at {@code nextRefreshAt} may still be served locally */
+    public boolean isFresh(LocalDateTime nextRefreshAt) {
+        return nextRefreshAt != null && nextRefreshAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Updates the change interval of an issue just fetched from Jira and schedules its next
+     * refresh.
+     *
+     * @param previous stored state of the issue, {@code null} when it is new
+     */
+    public void apply(JiraIssueDbEntity issue, IssueFingerprintView previous, LocalDateTime now) {
+        Long interval = previous != null
+                ? observe(previous.getChangeIntervalSeconds(), previous.getUpdated(), issue.getUpdated())
+                : secondsBetween(issue.getCreated(), issue.getUpdated());
+        issue.setChangeIntervalSeconds(interval);
+        issue.setLastSyncedAt(now);
+        issue.setNextRefreshAt(now.plusSeconds(ttlSeconds(issue, interval, now)));
+    }
+
+    private Long observe(Long average, LocalDateTime previousUpdated, LocalDateTime updated) {
+        Long sample = secondsBetween(previousUpdated, updated);
+        if (sample == null) {
+            return average; // Not updated since the last fetch
+        }
+        return average == null ? sample : Math.round(alpha * sample + (1 - alpha) * average);
+    }
+
+    private long ttlSeconds(JiraIssueDbEntity issue, Long interval, LocalDateTime now) {
+        long quiet = issue.getUpdated() != null ? Math.max(0, Duration.between(issue.getUpdated(), now).toSeconds()) : 0;
+        long basis = Math.round(Math.max(interval != null ? interval : 0, quiet) * ttlFactor);
+        if (DONE_CATEGORY.equalsIgnoreCase(issue.getStatusCategory())) {
+            return Math.clamp(basis, doneMinTtlSeconds, doneMaxTtlSeconds);
+        }
+        return Math.clamp(basis, minTtlSeconds, maxTtlSeconds);
+    }
+
+    /** Positive number of seconds from {@code from} to {@code to}, or {@code null}. */
+    private static Long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            return null;
+        }
+        return Duration.between(from, to).toSeconds();
+    }
+}
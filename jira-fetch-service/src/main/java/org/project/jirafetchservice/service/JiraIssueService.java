@@ -1,7 +1,11 @@
 package org.project.jirafetchservice.service;
 
+import org.project.issueevents.events.IssueDeletedEvent;
 import org.project.issueevents.events.IssueUpsertedEvent;
+import org.project.jirafetchservice.cache.IssueCache;
+import org.project.jirafetchservice.client.JiraFieldProfile;
 import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.client.SyncLane;
 import org.project.jirafetchservice.dto.IssueSimpleDto;
 import org.project.jirafetchservice.entity.JiraIssueDbEntity;
 import org.project.jirafetchservice.exception.JiraSynchronizationException;
@@ -9,18 +13,34 @@ import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
 import org.project.jirafetchservice.jirapi.JiraSearchResponse;
 import org.project.jirafetchservice.kafka.JiraIssueEventProducer;
 import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.DeletedIssue;
+import org.project.jirafetchservice.repository.IssueFingerprintView;
+import org.project.jirafetchservice.repository.JiraIssueBulkWriter;
 import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.project.jirafetchservice.repository.ProjectCatalogRepository;
+import org.project.jirafetchservice.repository.ProjectCountDelta;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing Jira issues synchronization between Jira API and local database.
@@ -30,23 +50,47 @@ import java.util.stream.Collectors;
 public class JiraIssueService {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraIssueService.class);
-    private static final int CACHE_VALIDITY_HOURS = 1;
     private static final int DEFAULT_BATCH_SIZE = 50;
 
     private final JiraWebClient jiraWebClient;
     private final JiraIssueRepository jiraIssueRepository;
+    private final JiraIssueBulkWriter bulkWriter;
+    private final ProjectCatalogRepository projectCatalog;
     private final JiraMapper jiraMapper;
     private final JiraIssueEventProducer eventProducer;
+    private final IssueCache issueCache;
+    private final IssueRefreshPolicy refreshPolicy;
+    private final SyncLaneExecutor laneExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkChunkSize;
+
+    private final SingleFlight<String, IssueSimpleDto> issueSyncFlight = new SingleFlight<>();
+    private final SingleFlight<String, List<IssueSimpleDto>> searchSyncFlight = new SingleFlight<>();
+    private final SingleFlight<String, JiraSearchResponse> searchFlight = new SingleFlight<>();
 
     public JiraIssueService(
             JiraWebClient jiraWebClient,
             JiraIssueRepository jiraIssueRepository,
+            JiraIssueBulkWriter bulkWriter,
+            ProjectCatalogRepository projectCatalog,
             JiraMapper jiraMapper,
-            JiraIssueEventProducer eventProducer) {
+            JiraIssueEventProducer eventProducer,
+            IssueCache issueCache,
+            IssueRefreshPolicy refreshPolicy,
+            SyncLaneExecutor laneExecutor,
+            TransactionTemplate transactionTemplate,
+            @Value("${jira.sync.bulk-chunk-size:100}") int bulkChunkSize) {
         this.jiraWebClient = jiraWebClient;
         this.jiraIssueRepository = jiraIssueRepository;
+        this.bulkWriter = bulkWriter;
+        this.projectCatalog = projectCatalog;
         this.jiraMapper = jiraMapper;
         this.eventProducer = eventProducer;
+        this.issueCache = issueCache;
+        this.refreshPolicy = refreshPolicy;
+        this.laneExecutor = laneExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     // ================== API QUERY METHODS (READ ONLY) ==================
@@ -91,7 +135,9 @@ public class JiraIssueService {
 
     public List<JiraIssueApiResponse> searchIssues(String jql) {
         try {
-            JiraSearchResponse response = jiraWebClient.searchIssues(jql);
+            // Identical searches in flight share one Jira round trip
+            JiraSearchResponse response =
+                    searchFlight.execute(normalizeJql(jql), () -> jiraWebClient.searchIssues(jql));
             if (response == null || response.getIssues() == null) {
                 return new ArrayList<>();
             }
@@ -104,18 +150,35 @@ public class JiraIssueService {
 
     // ================== OPTIMIZED SYNCHRONIZATION METHODS (READ + WRITE) ==================
 
-    @Transactional
+    /**
+     * Concurrent calls for the same key share one DB lookup, Jira round trip, save and publish.
+     * The transaction is opened by the caller that actually does the work, once admitted into the
+     * interactive lane.
+     */
     public IssueSimpleDto synchronizeIssueWithJira(String issueKey) {
+        return issueSyncFlight.execute(issueKey, () -> laneExecutor.call(SyncLane.INTERACTIVE,
+                () -> transactionTemplate.execute(status -> doSynchronizeIssueWithJira(issueKey))));
+    }
+
+    private IssueSimpleDto doSynchronizeIssueWithJira(String issueKey) {
         try {
+            IssueSimpleDto cached = issueCache.get(issueKey);
+            if (cached != null && refreshPolicy.isFresh(cached.getNextRefreshAt())) {
+                logger.debug("Using in-memory data for {}", issueKey);
+                return cached;
+            }
+
             Optional<JiraIssueDbEntity> existingEntity = jiraIssueRepository.findByIssueKey(issueKey);
 
             if (existingEntity.isPresent()) {
                 JiraIssueDbEntity entity = existingEntity.get();
-                if (isCacheValid(entity.getUpdated())) {
+                if (refreshPolicy.isFresh(entity.getNextRefreshAt())) {
                     logger.debug("Using cached data for {}", issueKey);
-                    return jiraMapper.toSimpleDtoFromDb(entity);
+                    IssueSimpleDto local = jiraMapper.toSimpleDtoFromDb(entity);
+                    issueCache.put(local);
+                    return local;
                 }
-                logger.debug("Cache expired for {}, fetching from Jira", issueKey);
+                logger.debug("{} due for refresh, fetching from Jira", issueKey);
             } else {
                 logger.debug("No local entity found for {}, fetching from Jira", issueKey);
             }
@@ -129,88 +192,116 @@ public class JiraIssueService {
         }
     }
 
-    @Transactional
-    public List<IssueSimpleDto> synchronizeProjectWithJira(String projectKey, Integer batchSize) {
-        int effectiveBatchSize = (batchSize != null && batchSize > 0) ? batchSize : DEFAULT_BATCH_SIZE;
-        List<IssueSimpleDto> result = new ArrayList<>();
+    public List<IssueSimpleDto> synchronizeIssuesWithJira(List<String> issueKeys) {
+        return synchronizeIssuesWithJira(issueKeys, false);
+    }
 
-        try {
-            logger.info("Starting synchronization for project: {}", projectKey);
+    /**
+     * Synchronizes an explicit list of issues. Issues not yet due for refresh are served locally
+     * unless {@code force} is set; the other keys are coalesced into {@code key in (...)} JQL
+     * chunks that are fetched concurrently, and saved on the calling thread.
+     *
+     * @return the current state of every key found locally or in Jira
+     */
+    public List<IssueSimpleDto> synchronizeIssuesWithJira(List<String> issueKeys, boolean force) {
+        return laneExecutor.call(SyncLane.INTERACTIVE,
+                () -> transactionTemplate.execute(status -> doSynchronizeIssuesWithJira(issueKeys, force)));
+    }
 
-            // 1. Fetch raw data from API
-            List<JiraIssueApiResponse> apiIssues = jiraWebClient.searchProjectIssues(projectKey);
+    private List<IssueSimpleDto> doSynchronizeIssuesWithJira(List<String> issueKeys, boolean force) {
+        List<String> distinctKeys = issueKeys.stream().map(String::trim).distinct().toList();
+        List<IssueSimpleDto> result = new ArrayList<>();
 
-            if (apiIssues == null || apiIssues.isEmpty()) {
-                logger.warn("No issues returned from Jira for project {}", projectKey);
-                return result;
+        try {
+            List<String> dueKeys = force ? distinctKeys : collectFreshIssues(distinctKeys, result);
+            List<CompletableFuture<List<JiraIssueDbEntity>>> chunks = new ArrayList<>();
+            for (int i = 0; i < dueKeys.size(); i += bulkChunkSize) {
+                List<String> chunk = dueKeys.subList(i, Math.min(i + bulkChunkSize, dueKeys.size()));
+                chunks.add(jiraWebClient.searchByKeysAsync(chunk, JiraFieldProfile.SYNC, jiraMapper::toDbEntityFromApi));
             }
+            logger.info("Starting bulk synchronization of {} issues in {} chunks, {} served locally",
+                    dueKeys.size(), chunks.size(), result.size());
 
-            logger.info("Fetched {} issues from API for project {}", apiIssues.size(), projectKey);
-
-            // 2. Map DIRECTLY to Entities (Preserving all data)
-            List<JiraIssueDbEntity> allEntities = apiIssues.stream()
-                    .map(jiraMapper::toDbEntityFromApi)
-                    .collect(Collectors.toList());
-
-            // 3. Process in batches
-            for (int i = 0; i < allEntities.size(); i += effectiveBatchSize) {
-                int endIndex = Math.min(i + effectiveBatchSize, allEntities.size());
-                List<JiraIssueDbEntity> batch = allEntities.subList(i, endIndex);
-
-                logger.debug("Processing batch of {} issues (from {} to {})", batch.size(), i, endIndex);
-
-                // 4. Filter Entities based on existing DB state
-                List<JiraIssueDbEntity> entitiesToSave = filterOutdatedEntities(batch);
-
-                if (entitiesToSave.isEmpty()) {
-                    logger.debug("All issues in this batch are up-to-date.");
-                    continue;
-                }
-
-                // 5. Save Entities and convert to DTOs for return
-                result.addAll(saveBatchAndPublishEvents(entitiesToSave));
+            for (CompletableFuture<List<JiraIssueDbEntity>> chunk : chunks) {
+                List<JiraIssueDbEntity> entities = chunk.join();
+                processEntitiesInBatches(entities, DEFAULT_BATCH_SIZE);
+                entities.stream().map(jiraMapper::toSimpleDtoFromDb).forEach(result::add);
             }
 
-            logger.info("Synchronization completed for project {}. Total processed: {}", projectKey, result.size());
+            if (result.size() < distinctKeys.size()) {
+                logger.warn("{} of {} requested issues were not found in Jira",
+                        distinctKeys.size() - result.size(), distinctKeys.size());
+            }
             return result;
 
         } catch (Exception error) {
-            logger.error("Fatal error synchronizing project {}: {}", projectKey, error.getMessage());
-            throw new JiraSynchronizationException("Failed to synchronize project: " + projectKey);
+            logger.error("Error during bulk synchronization: {}", error.getMessage(), error);
+            throw new JiraSynchronizationException("Failed to synchronize " + distinctKeys.size() + " issues");
         }
     }
 
-    @Transactional
-    public List<IssueSimpleDto> synchronizeSearchWithJira(String jql) {
-        List<IssueSimpleDto> result = new ArrayList<>();
-
-        try {
-            logger.info("Starting synchronization for JQL: {}", jql);
-            JiraSearchResponse response = jiraWebClient.searchIssues(jql);
-
-            if (response == null || response.getIssues() == null) {
-                return result;
+    /**
+     * Adds the issues that are not due for refresh yet to {@code result}, from the in-memory cache
+     * or the database.
+     *
+     * @return the keys that have to be fetched from Jira
+     */
+    private List<String> collectFreshIssues(List<String> issueKeys, List<IssueSimpleDto> result) {
+        List<String> uncached = new ArrayList<>();
+        for (String issueKey : issueKeys) {
+            IssueSimpleDto cached = issueCache.get(issueKey);
+            if (cached != null && refreshPolicy.isFresh(cached.getNextRefreshAt())) {
+                result.add(cached);
+            } else {
+                uncached.add(issueKey);
             }
+        }
+        if (uncached.isEmpty()) {
+            return uncached;
+        }
+        Set<String> fresh = new HashSet<>();
+        for (JiraIssueDbEntity entity : jiraIssueRepository.findByIssueKeyIn(uncached)) {
+            if (refreshPolicy.isFresh(entity.getNextRefreshAt())) {
+                IssueSimpleDto local = jiraMapper.toSimpleDtoFromDb(entity);
+                issueCache.put(local);
+                result.add(local);
+                fresh.add(entity.getIssueKey());
+            }
+        }
+        return uncached.stream().filter(key -> !fresh.contains(key)).toList();
+    }
 
-            List<JiraIssueApiResponse> apiIssues = response.getIssues();
+    /**
+     * Saves the issues that changed and publishes their events, in the caller's transaction.
+     * Used by the background sync jobs, which commit one batch at a time.
+     *
+     * @param bootstrap the project has no local rows yet: load with COPY, without fingerprint lookup
+     * @return the issues actually written
+     */
+    public List<IssueSimpleDto> saveIssues(List<JiraIssueDbEntity> entities, boolean bootstrap) {
+        return processEntitiesInBatches(entities, Math.max(1, entities.size()), bootstrap);
+    }
 
-            for (JiraIssueApiResponse apiResponse : apiIssues) {
-                try {
-                    // Map API -> Entity (Full Data)
-                    JiraIssueDbEntity entity = jiraMapper.toDbEntityFromApi(apiResponse);
+    /** Concurrent calls with the same (normalized) JQL share a single synchronization. */
+    public List<IssueSimpleDto> synchronizeSearchWithJira(String jql) {
+        return searchSyncFlight.execute(normalizeJql(jql), () -> laneExecutor.call(SyncLane.INTERACTIVE,
+                () -> transactionTemplate.execute(status -> doSynchronizeSearchWithJira(jql))));
+    }
 
-                    // Save to DB
-                    JiraIssueDbEntity savedEntity = jiraIssueRepository.save(entity);
+    private List<IssueSimpleDto> doSynchronizeSearchWithJira(String jql) {
+        List<IssueSimpleDto> result = new ArrayList<>();
 
-                    // Convert to DTO for output/kafka
-                    IssueSimpleDto issueDto = jiraMapper.toSimpleDtoFromDb(savedEntity);
+        // Map API -> Entity (Full Data) while parsing
+        try (Stream<List<JiraIssueDbEntity>> pages =
+                     jiraWebClient.streamSearchPages(jql, JiraFieldProfile.SYNC, jiraMapper::toDbEntityFromApi)) {
+            logger.info("Starting synchronization for JQL: {}", jql);
 
-                    publishIssueEvent(issueDto);
-                    result.add(issueDto);
-                } catch (Exception innerEx) {
-                    logger.error("Failed to save specific issue from JQL search: {}", apiResponse.getKey(), innerEx);
-                    // Continue processing other issues even if one fails
-                }
+            // Save what changed, return the current state of every match
+            Iterator<List<JiraIssueDbEntity>> pageIterator = pages.iterator();
+            while (pageIterator.hasNext()) {
+                List<JiraIssueDbEntity> pageEntities = pageIterator.next();
+                processEntitiesInBatches(pageEntities, DEFAULT_BATCH_SIZE);
+                pageEntities.stream().map(jiraMapper::toSimpleDtoFromDb).forEach(result::add);
             }
 
             logger.info("Synchronized {} issues from JQL search", result.size());
@@ -222,44 +313,67 @@ public class JiraIssueService {
         }
     }
 
+    /** Removes an issue deleted in Jira from the local database, the project catalog and the cache. */
+    @Transactional
+    public void deleteLocalIssue(String issueKey) {
+        deleteLocalIssues(List.of(issueKey));
+    }
+
+    /**
+     * Removes issues that no longer exist in Jira, in the caller's transaction, and publishes a
+     * tombstone for every row actually deleted.
+     *
+     * @return the number of rows deleted
+     */
+    public int deleteLocalIssues(Collection<String> issueKeys) {
+        List<DeletedIssue> deleted = bulkWriter.delete(issueKeys);
+        Map<String, ProjectCountDelta> countDeltas = new HashMap<>();
+        List<IssueDeletedEvent> tombstones = new ArrayList<>(deleted.size());
+        Instant now = Instant.now();
+        for (DeletedIssue issue : deleted) {
+            countDeltas.computeIfAbsent(issue.projectKey(), ProjectCountDelta::new).removed(issue.resolved());
+            tombstones.add(new IssueDeletedEvent(issue.projectKey(), issue.issueKey(), now));
+        }
+        projectCatalog.applyDeltas(countDeltas.values());
+        eventProducer.publishDeleted(tombstones);
+        issueKeys.forEach(issueCache::invalidate);
+        if (!deleted.isEmpty()) {
+            logger.info("Deleted {} local issues", deleted.size());
+        }
+        return deleted.size();
+    }
+
     // ================== LOCAL DATABASE METHODS ==================
 
     public IssueSimpleDto getLocalIssue(String issueKey) {
         try {
-            return jiraIssueRepository.findByIssueKey(issueKey)
+            IssueSimpleDto cached = issueCache.get(issueKey);
+            if (cached != null) {
+                return cached;
+            }
+            IssueSimpleDto local = jiraIssueRepository.findByIssueKey(issueKey)
                     .map(jiraMapper::toSimpleDtoFromDb)
                     .orElse(null); // Returning null allows 404 handling in controller
+            issueCache.put(local);
+            return local;
         } catch (Exception e) {
             logger.error("Database error fetching local issue {}: {}", issueKey, e.getMessage());
             throw new RuntimeException("Database error fetching issue", e);
         }
     }
 
-    public List<String> getAllLocalProjectKeys() {
-        try {
-            return jiraIssueRepository.findByProjectKeyIsNotNull().stream()
-                    .map(JiraIssueDbEntity::getProjectKey)
-                    .distinct()
-                    .collect(Collectors.toList());
-        } catch (Exception error) {
-            logger.error("Error retrieving local project keys: {}", error.getMessage(), error);
-            return new ArrayList<>();
-        }
-    }
-
     public String getProjectKeyFromIssue(String issueKey) {
         if (issueKey == null || !issueKey.contains("-")) {
             throw new IllegalArgumentException("Invalid issue key format: " + issueKey);
         }
-        return issueKey.split("-")[0];
+        return jiraMapper.extractProjectKey(issueKey);
     }
 
     // ================== PRIVATE HELPER METHODS ==================
 
-    private boolean isCacheValid(LocalDateTime updated) {
-        if (updated == null) return false;
-        LocalDateTime threshold = LocalDateTime.now().minusHours(CACHE_VALIDITY_HOURS);
-        return updated.isAfter(threshold);
+    /** Whitespace-insensitive key for coalescing identical JQL queries. */
+    private static String normalizeJql(String jql) {
+        return jql == null ? "" : jql.trim().replaceAll("\\s+", " ");
     }
 
     /**
@@ -268,7 +382,7 @@ public class JiraIssueService {
     private IssueSimpleDto fetchAndSaveFromJira(String issueKey) {
         try {
             // 1. Get API Response
-            JiraIssueApiResponse apiResponse = jiraWebClient.getIssue(issueKey);
+            JiraIssueApiResponse apiResponse = jiraWebClient.getIssue(issueKey, JiraFieldProfile.SYNC);
             if (apiResponse == null) {
                 throw new IllegalArgumentException("Issue not found in Jira: " + issueKey);
             }
@@ -276,14 +390,12 @@ public class JiraIssueService {
             // 2. Map to Entity (Full Save)
             JiraIssueDbEntity entity = jiraMapper.toDbEntityFromApi(apiResponse);
 
-            // 3. Save
-            JiraIssueDbEntity savedEntity = jiraIssueRepository.save(entity);
+            // 3. Save and publish, unless nothing changed since the last sync
+            processEntitiesInBatches(List.of(entity), 1);
 
             // 4. Convert to DTO
-            IssueSimpleDto issueDto = jiraMapper.toSimpleDtoFromDb(savedEntity);
-
-            // 5. Publish
-            publishIssueEvent(issueDto);
+            IssueSimpleDto issueDto = jiraMapper.toSimpleDtoFromDb(entity);
+            issueCache.refreshAfterCommit(List.of(issueDto));
 
             logger.debug("Successfully synchronized issue {} from Jira", issueKey);
             return issueDto;
@@ -296,79 +408,151 @@ public class JiraIssueService {
         }
     }
 
+    private List<IssueSimpleDto> processEntitiesInBatches(List<JiraIssueDbEntity> entities, int batchSize) {
+        return processEntitiesInBatches(entities, batchSize, false);
+    }
+
     /**
-     * Filters Entities (not DTOs) to find which ones need updating.
+     * Splits a page of entities into batches, drops the unchanged ones and saves the rest.
+     *
+     * @param bootstrap the project has no local rows: skip the fingerprint lookup and load with COPY
      */
-    private List<JiraIssueDbEntity> filterOutdatedEntities(List<JiraIssueDbEntity> entities) {
-        try {
-            List<String> keys = entities.stream().map(JiraIssueDbEntity::getIssueKey).toList();
-            List<JiraIssueDbEntity> existing = jiraIssueRepository.findByIssueKeyIn(keys);
+    private List<IssueSimpleDto> processEntitiesInBatches(
+            List<JiraIssueDbEntity> entities, int batchSize, boolean bootstrap) {
+        List<IssueSimpleDto> result = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i += batchSize) {
+            int endIndex = Math.min(i + batchSize, entities.size());
+            List<JiraIssueDbEntity> batch = entities.subList(i, endIndex);
+
+            logger.debug("Processing batch of {} issues (from {} to {})", batch.size(), i, endIndex);
+
+            // 4. Compare fingerprints with the stored state
+            Set<String> eventKeys = new HashSet<>();
+            Map<String, Boolean> previousResolved = new HashMap<>();
+            List<JiraIssueDbEntity> unchanged = new ArrayList<>();
+            List<JiraIssueDbEntity> entitiesToSave;
+            if (bootstrap) {
+                LocalDateTime now = LocalDateTime.now();
+                batch.forEach(entity -> {
+                    IssueFingerprints.apply(entity);
+                    refreshPolicy.apply(entity, null, now);
+                    eventKeys.add(entity.getIssueKey());
+                });
+                entitiesToSave = batch;
+            } else {
+                entitiesToSave = filterChangedEntities(batch, eventKeys, previousResolved, unchanged);
+            }
 
-            List<String> upToDateKeys = existing.stream()
-                    .filter(e -> isCacheValid(e.getUpdated()))
-                    .map(JiraIssueDbEntity::getIssueKey)
-                    .toList();
+            // Unchanged issues still get their next refresh pushed back
+            bulkWriter.touchRefresh(unchanged);
 
-            return entities.stream()
-                    .filter(e -> !upToDateKeys.contains(e.getIssueKey()))
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            logger.error("Error filtering outdated entities, proceeding to save all", e);
-            return entities; // Fail safe: return all to ensure data integrity
+            if (entitiesToSave.isEmpty()) {
+                logger.debug("All issues in this batch are up-to-date.");
+                continue;
+            }
+
+            // 5. Save Entities and convert to DTOs for return
+            result.addAll(saveBatchAndPublishEvents(entitiesToSave, eventKeys, previousResolved, bootstrap));
         }
+        return result;
     }
 
     /**
-     * Saves Entities and converts the result to DTOs for return/Kafka.
+     * Fingerprints the entities and keeps the ones whose content differs from the stored copy.
+     * Entities older than the stored copy are dropped as well.
+     *
+     * @param eventKeys receives the keys whose event-relevant fields changed
+     * @param previousResolved receives whether the stored copy was resolved, for the changed
+     *     entities that are stored already
+     * @param unchanged receives the entities identical to their stored copy, with a new refresh time
      */
-    private List<IssueSimpleDto> saveBatchAndPublishEvents(List<JiraIssueDbEntity> entitiesToSave) {
-        List<IssueSimpleDto> result = new ArrayList<>();
-
+    private List<JiraIssueDbEntity> filterChangedEntities(List<JiraIssueDbEntity> entities, Set<String> eventKeys,
+            Map<String, Boolean> previousResolved, List<JiraIssueDbEntity> unchanged) {
+        entities.forEach(IssueFingerprints::apply);
+        Map<String, IssueFingerprintView> stored;
         try {
-            // Try Batch Save first
-            List<JiraIssueDbEntity> savedEntities = jiraIssueRepository.saveAll(entitiesToSave);
+            List<String> keys = entities.stream().map(JiraIssueDbEntity::getIssueKey).toList();
+            stored = jiraIssueRepository.findFingerprintsByIssueKeyIn(keys).stream()
+                    .collect(Collectors.toMap(IssueFingerprintView::getIssueKey, view -> view));
+        } catch (Exception e) {
+            logger.error("Error reading stored fingerprints, proceeding to save all", e);
+            stored = Map.of(); // Fail safe: save and publish all to ensure data integrity
+        }
 
-            for (JiraIssueDbEntity savedEntity : savedEntities) {
-                IssueSimpleDto dto = jiraMapper.toSimpleDtoFromDb(savedEntity);
-                publishIssueEvent(dto);
-                result.add(dto);
+        List<JiraIssueDbEntity> changed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (JiraIssueDbEntity entity : entities) {
+            IssueFingerprintView previous = stored.get(entity.getIssueKey());
+            if (previous != null) {
+                if (previous.getUpdated() != null && entity.getUpdated() != null
+                        && previous.getUpdated().isAfter(entity.getUpdated())) {
+                    continue; // Stored copy is more recent than what Jira returned
+                }
+                refreshPolicy.apply(entity, previous, now);
+                if (Objects.equals(previous.getContentHash(), entity.getContentHash())) {
+                    unchanged.add(entity); // Nothing changed
+                    continue;
+                }
+            } else {
+                refreshPolicy.apply(entity, null, now);
+            }
+            changed.add(entity);
+            if (previous == null || !Objects.equals(previous.getEventHash(), entity.getEventHash())) {
+                eventKeys.add(entity.getIssueKey());
+            }
+            if (previous != null) {
+                previousResolved.put(entity.getIssueKey(), previous.getResolved() != null);
             }
+        }
+        return changed;
+    }
 
-        } catch (Exception batchError) {
-            logger.warn("Batch save failed ({} issues), falling back to individual saves. Error: {}",
-                    entitiesToSave.size(), batchError.getMessage());
-
-            // Fallback: Save one by one
-            for (JiraIssueDbEntity entity : entitiesToSave) {
-                try {
-                    JiraIssueDbEntity savedEntity = jiraIssueRepository.save(entity);
-                    IssueSimpleDto dto = jiraMapper.toSimpleDtoFromDb(savedEntity);
-                    publishIssueEvent(dto);
-                    result.add(dto);
-                } catch (Exception individualError) {
-                    logger.error("Failed to save entity for issue {}: {}", entity.getIssueKey(), individualError.getMessage());
-                }
+    /**
+     * Upserts the Entities in one statement batch (or one COPY when bootstrapping) and converts
+     * them to DTOs for return/Kafka. Events are only published for the keys in {@code eventKeys};
+     * they go to the outbox in the same transaction, so they are sent if and only if it commits.
+     * A failed write aborts the surrounding transaction, so it is propagated rather than retried
+     * row by row. The project counts follow what the write did: a new issue saved concurrently by
+     * another writer is only counted by the one that inserted it.
+     */
+    private List<IssueSimpleDto> saveBatchAndPublishEvents(List<JiraIssueDbEntity> entitiesToSave,
+            Set<String> eventKeys, Map<String, Boolean> previousResolved, boolean bootstrap) {
+        Set<String> inserted = bootstrap
+                ? bulkWriter.copyLoad(entitiesToSave)
+                : bulkWriter.upsert(entitiesToSave);
+        projectCatalog.applyDeltas(countDeltas(entitiesToSave, inserted, previousResolved));
+
+        List<IssueSimpleDto> result = new ArrayList<>(entitiesToSave.size());
+        List<IssueUpsertedEvent> events = new ArrayList<>(eventKeys.size());
+        for (JiraIssueDbEntity entity : entitiesToSave) {
+            IssueSimpleDto dto = jiraMapper.toSimpleDtoFromDb(entity);
+            if (eventKeys.contains(dto.getIssueKey())) {
+                events.add(jiraMapper.toIssueEvent(dto));
             }
+            result.add(dto);
         }
+        eventProducer.publish(events);
+        issueCache.refreshAfterCommit(result);
         return result;
     }
 
-    private void publishIssueEvent(IssueSimpleDto dto) {
-        try {
-            // Ensure types match IssueUpsertedEvent constructor exactly
-            IssueUpsertedEvent event = new IssueUpsertedEvent(
-                    dto.getProjectKey(),                // String projectKey
-                    dto.getIssueKey(),                  // String issueKey
-                    dto.getAssignee(),                  // String assignee
-                    dto.getTimeSpentSeconds(),          // Long timeSpentSeconds
-                    dto.getStoryPoints(),               // Double storyPoints
-                    dto.getResolved() != null           // Instant resolvedAt
-                            ? dto.getResolved().toInstant(ZoneOffset.UTC)
-                            : null
-            );
-            eventProducer.publish(event);
-        } catch (Exception e) {
-            logger.error("Kafka publish failed for {}: {}", dto.getIssueKey(), e.getMessage());
+    private static Collection<ProjectCountDelta> countDeltas(List<JiraIssueDbEntity> saved, Set<String> inserted,
+            Map<String, Boolean> previousResolved) {
+        Map<String, ProjectCountDelta> countDeltas = new HashMap<>();
+        Set<String> counted = new HashSet<>();
+        for (JiraIssueDbEntity entity : saved) {
+            if (!counted.add(entity.getIssueKey())) {
+                continue;
+            }
+            boolean resolved = entity.getResolved() != null;
+            ProjectCountDelta delta = countDeltas.computeIfAbsent(entity.getProjectKey(), ProjectCountDelta::new);
+            if (inserted.contains(entity.getIssueKey())) {
+                delta.added(resolved);
+            } else if (previousResolved.containsKey(entity.getIssueKey())) {
+                delta.moved(previousResolved.get(entity.getIssueKey()), resolved);
+            }
+            // Otherwise it was inserted concurrently after the fingerprint read, by a writer that counted it
         }
+        return countDeltas.values();
     }
-}
\ No newline at end of file
+}
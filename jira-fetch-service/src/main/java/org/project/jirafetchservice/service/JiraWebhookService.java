@@ -0,0 +1,186 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
+import org.project.jirafetchservice.jirapi.JiraWebhookEvent;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies Jira webhook callbacks to the local database.
+ *
+ * <p>Bursts of callbacks for the same issue are debounced: only the most recent payload is kept
+ * and it is saved once the issue has been quiet for {@code jira.webhooks.debounce-ms} (or after
+ * {@code jira.webhooks.max-delay-ms} at the latest). Saving goes through the regular batch path,
+ * so unchanged issues are skipped and events are published through the outbox. Worklog callbacks
+ * do not carry the issue, it is re-fetched from Jira at flush time. Deletions are applied at once.
+ * A failed flush puts its entries back, to be retried after another debounce period, up to
+ * {@code jira.webhooks.max-attempts} times.
+ */
+@Service
+public class JiraWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraWebhookService.class);
+
+    private final JiraIssueService jiraIssueService;
+    private final JiraMapper jiraMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+
+    private final Map<String, Pending> pendingIssues = new ConcurrentHashMap<>();
+    private final Map<String, Pending> pendingRefetches = new ConcurrentHashMap<>();
+
+    public JiraWebhookService(
+            JiraIssueService jiraIssueService,
+            JiraMapper jiraMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${jira.webhooks.debounce-ms:2000}") long debounceMs,
+            @Value("${jira.webhooks.max-delay-ms:10000}") long maxDelayMs,
+            @Value("${jira.webhooks.max-attempts:5}") int maxAttempts) {
+        this.jiraIssueService = jiraIssueService;
+        this.jiraMapper = jiraMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.debounceNanos = debounceMs * 1_000_000L;
+        this.maxDelayNanos = maxDelayMs * 1_000_000L;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** @return false when the event type is not handled */
+    public boolean accept(JiraWebhookEvent event) {
+        String type = event.getWebhookEvent();
+        if (type == null) {
+            return false;
+        }
+        long timestamp = event.getTimestamp() != null ? event.getTimestamp() : System.currentTimeMillis();
+
+        switch (type) {
+            case JiraWebhookEvent.ISSUE_CREATED, JiraWebhookEvent.ISSUE_UPDATED -> {
+                JiraIssueApiResponse issue = requireIssue(event);
+                enqueue(pendingIssues, issue.getKey(), issue, timestamp);
+            }
+            case JiraWebhookEvent.ISSUE_DELETED -> {
+                String issueKey = requireIssue(event).getKey();
+                pendingIssues.remove(issueKey);
+                jiraIssueService.deleteLocalIssue(issueKey);
+            }
+            case JiraWebhookEvent.WORKLOG_CREATED, JiraWebhookEvent.WORKLOG_UPDATED, JiraWebhookEvent.WORKLOG_DELETED -> {
+                if (event.getWorklog() == null || event.getWorklog().getIssueId() == null) {
+                    throw new IllegalArgumentException("Worklog webhook without issueId");
+                }
+                // JQL "key in (...)" also matches issue ids
+                enqueue(pendingRefetches, event.getWorklog().getIssueId(), null, timestamp);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${jira.webhooks.flush-interval-ms:500}")
+    public void flush() {
+        long now = System.nanoTime();
+        Map<String, Pending> issues = drainDue(pendingIssues, now);
+        Map<String, Pending> refetches = drainDue(pendingRefetches, now);
+
+        if (!issues.isEmpty()) {
+            try {
+                List<JiraIssueDbEntity> entities = issues.values().stream()
+                        .map(Pending::issue)
+                        .map(jiraMapper::toDbEntityFromApi)
+                        .toList();
+                int saved = transactionTemplate.execute(status -> jiraIssueService.saveIssues(entities, false)).size();
+                logger.debug("Webhook flush: {} issues received, {} changed", entities.size(), saved);
+            } catch (Exception e) {
+                logger.error("Webhook flush failed for {} issues: {}", issues.size(), e.getMessage(), e);
+                requeue(pendingIssues, issues);
+            }
+        }
+        if (!refetches.isEmpty()) {
+            try {
+                // The callback says they changed: bypass the refresh policy
+                jiraIssueService.synchronizeIssuesWithJira(new ArrayList<>(refetches.keySet()), true);
+            } catch (Exception e) {
+                logger.error("Webhook flush failed for {} worklog updates: {}", refetches.size(), e.getMessage(), e);
+                requeue(pendingRefetches, refetches);
+            }
+        }
+    }
+
+    // ================== PRIVATE HELPER METHODS ==================
+
+    private static JiraIssueApiResponse requireIssue(JiraWebhookEvent event) {
+        if (event.getIssue() == null || event.getIssue().getKey() == null) {
+            throw new IllegalArgumentException("Webhook " + event.getWebhookEvent() + " without issue");
+        }
+        return event.getIssue();
+    }
+
+    private static void enqueue(Map<String, Pending> pending, String key, JiraIssueApiResponse issue, long timestamp) {
+        long now = System.nanoTime();
+        pending.merge(key, new Pending(issue, timestamp, now, now, 0), (previous, next) -> new Pending(
+                // Callbacks may arrive out of order, keep the most recent payload
+                next.timestamp() >= previous.timestamp() ? next.issue() : previous.issue(),
+                Math.max(previous.timestamp(), next.timestamp()),
+                previous.firstSeenNanos(),
+                now,
+                previous.attempts()));
+    }
+
+    /**
+     * Puts the entries of a failed flush back, due again after a debounce period. Callbacks
+     * received meanwhile are merged, the most recent payload wins.
+     */
+    private void requeue(Map<String, Pending> pending, Map<String, Pending> failed) {
+        long now = System.nanoTime();
+        int dropped = 0;
+        for (Map.Entry<String, Pending> entry : failed.entrySet()) {
+            Pending previous = entry.getValue();
+            if (previous.attempts() + 1 >= maxAttempts) {
+                dropped++;
+                continue;
+            }
+            Pending retry = new Pending(previous.issue(), previous.timestamp(), now, now, previous.attempts() + 1);
+            pending.merge(entry.getKey(), retry, (received, next) -> new Pending(
+                    received.timestamp() >= next.timestamp() ? received.issue() : next.issue(),
+                    Math.max(received.timestamp(), next.timestamp()),
+                    now,
+                    now,
+                    next.attempts()));
+        }
+        if (dropped > 0) {
+            // Their update time moved, so the next scheduled sync of their projects still picks them up
+            logger.warn("Giving up {} webhook updates after {} attempts", dropped, maxAttempts);
+        }
+    }
+
+    private Map<String, Pending> drainDue(Map<String, Pending> pending, long now) {
+        Map<String, Pending> due = new HashMap<>();
+        pending.forEach((key, entry) -> {
+            if (isDue(entry, now) && pending.remove(key, entry)) {
+                due.put(key, entry);
+            }
+        });
+        return due;
+    }
+
+    private boolean isDue(Pending entry, long now) {
+        return now - entry.lastSeenNanos() >= debounceNanos || now - entry.firstSeenNanos() >= maxDelayNanos;
+    }
+
+    private record Pending(
+            JiraIssueApiResponse issue, long timestamp, long firstSeenNanos, long lastSeenNanos, int attempts) {}
+}
@@ -0,0 +1,117 @@
+package org.project.jirafetchservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.project.jirafetchservice.dto.IssuePageDto;
+import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.project.jirafetchservice.repository.LocalIssueFilter;
+import org.project.jirafetchservice.repository.LocalIssueQueryRepository;
+import org.project.jirafetchservice.repository.ProjectCatalogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Local, read-only issue queries for bulk consumers (exports, charts) and search. Pages are addressed by an
+ * opaque cursor encoding the last {@code (updated, issueKey)} returned.
+ */
+@Service
+public class LocalIssueQueryService {
+
+    private static final char CURSOR_SEPARATOR = '|';
+
+    private final LocalIssueQueryRepository queryRepository;
+    private final ProjectCatalogRepository projectCatalog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter ndjsonWriter;
+
+    public LocalIssueQueryService(
+            LocalIssueQueryRepository queryRepository,
+            ProjectCatalogRepository projectCatalog,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper) {
+        this.queryRepository = queryRepository;
+        this.projectCatalog = projectCatalog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // The response stream must stay open between documents
+        this.ndjsonWriter = objectMapper.writerFor(IssueSimpleDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /** A page and its entity tag. */
+    public record TaggedPage(IssuePageDto page, String etag) {}
+
+    /**
+     * The page after {@code cursor}, tagged from its own rows and position so that checking it
+     * costs no more than reading it.
+     */
+    public TaggedPage findPage(LocalIssueFilter filter, String cursor, int limit) {
+        LocalDateTime afterUpdated = null;
+        String afterIssueKey = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(CURSOR_SEPARATOR);
+                afterUpdated = LocalDateTime.parse(decoded.substring(0, separator));
+                afterIssueKey = decoded.substring(separator + 1);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Curseur invalide: " + cursor, e);
+            }
+        }
+
+        LocalDateTime pageAfterUpdated = afterUpdated;
+        String pageAfterIssueKey = afterIssueKey;
+        LocalIssueQueryRepository.Page page = readOnlyTransaction.execute(status ->
+                queryRepository.findPage(filter, pageAfterUpdated, pageAfterIssueKey, limit));
+        List<IssueSimpleDto> items = page.items();
+
+        String nextCursor = null;
+        if (items.size() == limit) {
+            IssueSimpleDto last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getUpdated() + String.valueOf(CURSOR_SEPARATOR) + last.getIssueKey());
+        }
+        String etag = "\"" + Long.toHexString(page.fingerprint()) + "-"
+                + Integer.toHexString(Objects.hash(cursor, limit)) + "\"";
+        return new TaggedPage(IssuePageDto.builder().items(items).nextCursor(nextCursor).build(), etag);
+    }
+
+    /** The {@code limit} best matches, see {@link LocalIssueQueryRepository#search}. */
+    public List<IssueSimpleDto> search(LocalIssueFilter filter, int limit) {
+        return readOnlyTransaction.execute(status -> queryRepository.search(filter, limit));
+    }
+
+    /** Writes every matching issue as one JSON document per line. */
+    public void streamNdjson(LocalIssueFilter filter, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> queryRepository.forEach(filter, issue -> {
+            try {
+                ndjsonWriter.writeValue(out, issue);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    /**
+     * Entity tag of every issue matching the filter, from the catalog version of the filtered
+     * project (of all projects without one): it changes whenever one of those issues may have.
+     */
+    public String etag(LocalIssueFilter filter) {
+        return "\"v" + readOnlyTransaction.execute(status -> projectCatalog.version(filter.projectKey())) + "\"";
+    }
+
+    private static String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,57 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.dto.ProjectCatalogDto;
+import org.project.jirafetchservice.repository.ProjectCatalogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Read side of the project catalog. Counts are maintained by the save path; {@link #rebuild()}
+ * recomputes them from {@code jira_issue} to seed an empty catalog or to correct drift.
+ */
+@Service
+public class ProjectCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectCatalogService.class);
+
+    private final ProjectCatalogRepository catalogRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectCatalogService(ProjectCatalogRepository catalogRepository, TransactionTemplate transactionTemplate) {
+        this.catalogRepository = catalogRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<ProjectCatalogDto> getCatalog() {
+        return transactionTemplate.execute(status -> catalogRepository.findAll());
+    }
+
+    public List<String> getAllLocalProjectKeys() {
+        return getCatalog().stream().map(ProjectCatalogDto::getProjectKey).toList();
+    }
+
+    public List<ProjectCatalogDto> rebuild() {
+        transactionTemplate.executeWithoutResult(status -> catalogRepository.rebuild());
+        List<ProjectCatalogDto> catalog = getCatalog();
+        logger.info("Project catalog rebuilt: {} projects", catalog.size());
+        return catalog;
+    }
+
+    /** Seeds the catalog from existing issues the first time the service starts with it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        try {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> catalogRepository.isEmpty()))) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.warn("Project catalog seeding failed: {}", e.getMessage());
+        }
+    }
+}
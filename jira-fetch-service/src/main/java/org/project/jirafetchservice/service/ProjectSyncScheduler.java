@@ -0,0 +1,160 @@
+package org.project.jirafetchservice.service;
+
+import jakarta.annotation.PreDestroy;
+import org.project.jirafetchservice.client.JiraCallBudget;
+import org.project.jirafetchservice.dto.SyncJobDto;
+import org.project.jirafetchservice.entity.JiraSyncJob;
+import org.project.jirafetchservice.repository.SyncLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps every catalog project fresh by starting an incremental sync job once its interval has
+ * elapsed. Running instances share the work through {@code jira_sync_lease}: each tick an
+ * instance claims due projects nobody holds, renews the leases of its running jobs and, when a
+ * job ends, releases the lease and schedules the next sync. Leases of a dead instance expire and
+ * its projects are claimed by the others. The number of live instances also sizes this
+ * instance's share of the Jira call budget.
+ */
+@Service
+public class ProjectSyncScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectSyncScheduler.class);
+
+    private final SyncLeaseRepository leaseRepository;
+    private final SyncJobService syncJobService;
+    private final JiraCallBudget callBudget;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration leaseDuration;
+    private final int maxProjects;
+    private final int batchSize;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    // Projects leased by this instance and the job syncing each of them; touched by the tick only
+    private final Map<String, UUID> running = new HashMap<>();
+
+    public ProjectSyncScheduler(
+            SyncLeaseRepository leaseRepository,
+            SyncJobService syncJobService,
+            JiraCallBudget callBudget,
+            TransactionTemplate transactionTemplate,
+            @Value("${jira.scheduler.enabled:true}") boolean enabled,
+            @Value("${jira.scheduler.interval-minutes:15}") long intervalMinutes,
+            @Value("${jira.scheduler.lease-seconds:120}") long leaseSeconds,
+            @Value("${jira.scheduler.max-projects:2}") int maxProjects,
+            @Value("${jira.scheduler.batch-size:100}") int batchSize) {
+        this.leaseRepository = leaseRepository;
+        this.syncJobService = syncJobService;
+        this.callBudget = callBudget;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.interval = Duration.ofMinutes(intervalMinutes);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.maxProjects = maxProjects;
+        this.batchSize = batchSize;
+    }
+
+    /** The tick must come well within the lease duration, the leases are renewed here. */
+    @Scheduled(fixedDelayString = "${jira.scheduler.tick-ms:15000}",
+            initialDelayString = "${jira.scheduler.initial-delay-ms:30000}")
+    public synchronized void tick() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer instances = transactionTemplate.execute(status ->
+                    leaseRepository.heartbeat(instanceId, now, now.minus(leaseDuration)));
+            callBudget.setInstanceCount(instances != null ? instances : 1);
+
+            checkRunning(now);
+            startDue(now);
+        } catch (Exception e) {
+            logger.warn("Project sync scheduling failed, retried on next tick: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void releaseLeases() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.releaseAll(instanceId));
+            running.clear();
+        } catch (Exception e) {
+            logger.warn("Could not release the project sync leases: {}", e.getMessage());
+        }
+    }
+
+    // ================== PRIVATE HELPER METHODS ==================
+
+    /** Completes the leases of finished jobs, renews the others and forgets the ones lost meanwhile. */
+    private void checkRunning(LocalDateTime now) {
+        if (running.isEmpty()) {
+            return;
+        }
+        running.entrySet().removeIf(entry -> {
+            Optional<SyncJobDto> job = syncJobService.find(entry.getValue());
+            JiraSyncJob.Status jobStatus = job.map(dto -> JiraSyncJob.Status.valueOf(dto.getStatus())).orElse(null);
+            if (jobStatus != null && jobStatus.isActive()) {
+                if (jobStatus == JiraSyncJob.Status.RUNNING && !syncJobService.isRunningLocally(entry.getValue())) {
+                    // Jobs left by a dead instance are taken over here
+                    syncJobService.resumeIfStale(entry.getValue());
+                }
+                return false;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    leaseRepository.complete(instanceId, entry.getKey(), now, interval.toSeconds()));
+            logger.debug("Project {} synchronized by job {}, status {}", entry.getKey(), entry.getValue(),
+                    job.map(SyncJobDto::getStatus).orElse("DELETED"));
+            return true;
+        });
+
+        Set<String> renewed = transactionTemplate.execute(status ->
+                leaseRepository.renew(instanceId, running.keySet(), now.plus(leaseDuration)));
+        if (renewed != null && running.keySet().retainAll(renewed)) {
+            logger.warn("Lost the lease of some projects, another instance took them over");
+        }
+    }
+
+    private void startDue(LocalDateTime now) {
+        int free = maxProjects - running.size();
+        if (free <= 0) {
+            return;
+        }
+        List<String> claimed = transactionTemplate.execute(status -> {
+            leaseRepository.seedFromCatalog(now);
+            return leaseRepository.claimDue(instanceId, free, now, now.plus(leaseDuration));
+        });
+        if (claimed == null) {
+            return;
+        }
+        for (String projectKey : claimed) {
+            try {
+                SyncJobDto job = syncJobService.start(projectKey, batchSize, false, 1);
+                running.put(projectKey, job.getId());
+                logger.info("Scheduled sync of project {}: job {}", projectKey, job.getId());
+            } catch (Exception e) {
+                logger.warn("Could not start the scheduled sync of project {}: {}", projectKey, e.getMessage());
+                transactionTemplate.executeWithoutResult(status ->
+                        leaseRepository.complete(instanceId, projectKey, now, interval.toSeconds()));
+            }
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.client.JiraFieldProfile;
+import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.client.JqlPartitioner;
+import org.project.jirafetchservice.client.ParallelJiraSearch;
+import org.project.jirafetchservice.client.SyncLane;
+import org.project.jirafetchservice.dto.IssueSimpleDto;
+import org.project.jirafetchservice.dto.SyncJobDto;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.entity.JiraSyncJob;
+import org.project.jirafetchservice.entity.JiraSyncWatermark;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.project.jirafetchservice.repository.JiraSyncJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs project synchronizations as background jobs.
+ *
+ * <p>Each batch is saved in its own transaction together with the job's progress, so no DB
+ * transaction spans the Jira download. The first import of a project gathers pages into batches of
+ * {@code jira.sync.bootstrap-batch-size} rows, loaded with one {@code COPY} each; other runs keep
+ * the job batch size. Sequential jobs walk
+ * the project in {@code (updated, key)} order and resume from the job cursor; partitioned jobs
+ * restart their windows, the fingerprints then skip what was already stored. Jobs left running
+ * by a stopped instance are picked up at startup once their heartbeat is stale. The heartbeat of
+ * the jobs queued or running here is refreshed on a timer, however long a batch takes.
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncJobService.class);
+    private static final EnumSet<JiraSyncJob.Status> ACTIVE =
+            EnumSet.of(JiraSyncJob.Status.PENDING, JiraSyncJob.Status.RUNNING);
+
+    private final JiraSyncJobRepository jobRepository;
+    private final JiraIssueRepository jiraIssueRepository;
+    private final JiraIssueService jiraIssueService;
+    private final JiraWebClient jiraWebClient;
+    private final ParallelJiraSearch parallelJiraSearch;
+    private final JiraMapper jiraMapper;
+    private final SyncWatermarkService watermarkService;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionsPerWorker;
+    private final int bootstrapBatchSize;
+    private final Duration staleAfter;
+    private final SyncLaneExecutor laneExecutor;
+    // Jobs submitted on this instance, until their run ends
+    private final Set<UUID> localRuns = ConcurrentHashMap.newKeySet();
+
+    public SyncJobService(
+            JiraSyncJobRepository jobRepository,
+            JiraIssueRepository jiraIssueRepository,
+            JiraIssueService jiraIssueService,
+            JiraWebClient jiraWebClient,
+            ParallelJiraSearch parallelJiraSearch,
+            JiraMapper jiraMapper,
+            SyncWatermarkService watermarkService,
+            TransactionTemplate transactionTemplate,
+            SyncLaneExecutor laneExecutor,
+            @Value("${jira.sync.partitions-per-worker:4}") int partitionsPerWorker,
+            @Value("${jira.sync.bootstrap-batch-size:5000}") int bootstrapBatchSize,
+            @Value("${jira.sync.jobs.stale-after-seconds:120}") long staleAfterSeconds) {
+        this.jobRepository = jobRepository;
+        this.jiraIssueRepository = jiraIssueRepository;
+        this.jiraIssueService = jiraIssueService;
+        this.jiraWebClient = jiraWebClient;
+        this.parallelJiraSearch = parallelJiraSearch;
+        this.jiraMapper = jiraMapper;
+        this.watermarkService = watermarkService;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionsPerWorker = partitionsPerWorker;
+        this.bootstrapBatchSize = Math.max(1, bootstrapBatchSize);
+        this.staleAfter = Duration.ofSeconds(staleAfterSeconds);
+        this.laneExecutor = laneExecutor;
+    }
+
+    // ================== JOB API ==================
+
+    /**
+     * Queues a synchronization of the project. If one is already queued or running for the
+     * project, that job is returned instead, and taken over when its runner stopped heartbeating.
+     * A unique index enforces one active job per project, also against concurrent callers on
+     * other instances.
+     */
+    public SyncJobDto start(String projectKey, int batchSize, boolean fullSync, int parallelism) {
+        Optional<JiraSyncJob> active = jobRepository.findFirstByProjectKeyAndStatusIn(projectKey, ACTIVE);
+        if (active.isPresent()) {
+            return existingJob(active.get());
+        }
+
+        JiraSyncJob job;
+        try {
+            job = jobRepository.save(JiraSyncJob.builder()
+                    .id(UUID.randomUUID())
+                    .projectKey(projectKey)
+                    .status(JiraSyncJob.Status.PENDING)
+                    .fullSync(fullSync)
+                    .batchSize(batchSize)
+                    .parallelism(Math.max(1, parallelism))
+                    .createdAt(LocalDateTime.now())
+                    .heartbeatAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another caller started one in the meantime
+            return existingJob(projectKey, e);
+        }
+        submit(job.getId());
+        return toDto(job);
+    }
+
+    public Optional<SyncJobDto> find(UUID jobId) {
+        return jobRepository.findById(jobId).map(this::toDto);
+    }
+
+    /** Marks the job cancelled; a running job stops before its next batch. */
+    public Optional<SyncJobDto> cancel(UUID jobId) {
+        if (jobRepository.transition(jobId, ACTIVE, JiraSyncJob.Status.CANCELLED, LocalDateTime.now()) == 1) {
+            logger.info("Sync job {} cancelled", jobId);
+        }
+        return find(jobId);
+    }
+
+    /** Resumes a cancelled or failed job, unless another job of the project is active by now. */
+    public Optional<SyncJobDto> resume(UUID jobId) {
+        return jobRepository.findById(jobId).map(job -> {
+            if (job.getStatus() == JiraSyncJob.Status.CANCELLED || job.getStatus() == JiraSyncJob.Status.FAILED) {
+                job.setStatus(JiraSyncJob.Status.PENDING);
+                job.setFinishedAt(null);
+                job.setErrorMessage(null);
+                job.setHeartbeatAt(LocalDateTime.now());
+                try {
+                    job = jobRepository.save(job);
+                } catch (DataIntegrityViolationException e) {
+                    return existingJob(job.getProjectKey(), e);
+                }
+                submit(jobId);
+            }
+            return toDto(job);
+        });
+    }
+
+    /**
+     * Runs a job on this instance if its heartbeat is stale, i.e. the instance running it died.
+     * Only meant for RUNNING jobs: a PENDING one may simply still be queued in the bulk lane.
+     * A job queued or running on this instance is never taken over.
+     *
+     * @return whether the job was taken over
+     */
+    public boolean resumeIfStale(UUID jobId) {
+        if (isRunningLocally(jobId)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (jobRepository.claimStale(jobId, now, now.minus(staleAfter)) != 1) {
+            return false;
+        }
+        logger.info("Taking over stale sync job {}", jobId);
+        submit(jobId);
+        return true;
+    }
+
+    /** Whether the job is queued or running on this instance. */
+    public boolean isRunningLocally(UUID jobId) {
+        return localRuns.contains(jobId);
+    }
+
+    /** Must come well within {@code jira.sync.jobs.stale-after-seconds}. */
+    @Scheduled(fixedDelayString = "${jira.sync.jobs.heartbeat-ms:30000}")
+    public void heartbeat() {
+        if (localRuns.isEmpty()) {
+            return;
+        }
+        try {
+            jobRepository.heartbeat(List.copyOf(localRuns), ACTIVE, LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("Could not refresh the sync job heartbeats: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        try {
+            LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+            for (JiraSyncJob job : jobRepository.findByStatusIn(ACTIVE)) {
+                if (jobRepository.claimStale(job.getId(), LocalDateTime.now(), staleBefore) == 1) {
+                    logger.info("Resuming interrupted sync job {} for project {}", job.getId(), job.getProjectKey());
+                    submit(job.getId());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not resume interrupted sync jobs: {}", e.getMessage());
+        }
+    }
+
+    // ================== JOB EXECUTION ==================
+
+    /** Jobs run in the bulk lane; on shutdown they stay RUNNING and the next instance resumes them. */
+    private void submit(UUID jobId) {
+        if (!localRuns.add(jobId)) {
+            return; // Already queued or running here
+        }
+        try {
+            laneExecutor.execute(SyncLane.BULK, () -> run(jobId))
+                    .whenComplete((result, error) -> localRuns.remove(jobId));
+        } catch (RuntimeException e) {
+            localRuns.remove(jobId);
+            throw e;
+        }
+    }
+
+    private void run(UUID jobId) {
+        JiraSyncJob job = transactionTemplate.execute(tx -> jobRepository.findByIdForUpdate(jobId)
+                .filter(candidate -> candidate.getStatus().isActive())
+                .map(candidate -> {
+                    candidate.setStatus(JiraSyncJob.Status.RUNNING);
+                    if (candidate.getStartedAt() == null) {
+                        candidate.setStartedAt(LocalDateTime.now());
+                    }
+                    candidate.setHeartbeatAt(LocalDateTime.now());
+                    return jobRepository.save(candidate);
+                })
+                .orElse(null));
+        if (job == null) {
+            return; // Cancelled before it started
+        }
+
+        try {
+            logger.info("Starting sync job {} for project {}", jobId, job.getProjectKey());
+            // Jira calls of the job share the call budget fairly with the other projects' jobs
+            SyncLane.withShare(job.getProjectKey(), () -> {
+                if (job.getParallelism() > 1) {
+                    runPartitioned(job);
+                } else {
+                    runSequential(job);
+                }
+                return null;
+            });
+            finish(jobId, JiraSyncJob.Status.COMPLETED, null);
+        } catch (CancellationException e) {
+            logger.info("Sync job {} stopped: {}", jobId, e.getMessage());
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted() || laneExecutor.isShutdown()) {
+                logger.warn("Sync job {} interrupted by shutdown, it will resume on next startup", jobId);
+                return;
+            }
+            logger.error("Sync job {} for project {} failed: {}", jobId, job.getProjectKey(), e.getMessage(), e);
+            finish(jobId, JiraSyncJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Walks the project in {@code (updated, key)} order, starting at the job cursor minus the
+     * watermark overlap. Issues re-read in the overlap are saved again; the fingerprints skip the
+     * ones that did not change.
+     */
+    private void runSequential(JiraSyncJob job) {
+        String projectKey = job.getProjectKey();
+        JiraSyncWatermark cursor = cursorOf(job);
+        if (cursor == null && !job.isFullSync()) {
+            cursor = watermarkService.find(projectKey).orElse(null);
+        }
+        String jql = cursor != null
+                ? watermarkService.incrementalJql(projectKey, cursor)
+                : watermarkService.orderedProjectJql(projectKey);
+        boolean bootstrap = cursor == null && !jiraIssueRepository.existsByProjectKey(projectKey);
+
+        try (Stream<List<JiraIssueDbEntity>> pages =
+                     jiraWebClient.streamSearchPages(jql, JiraFieldProfile.SYNC, jiraMapper::toDbEntityFromApi)) {
+            Iterator<List<JiraIssueDbEntity>> pageIterator = pages.iterator();
+            List<JiraIssueDbEntity> buffer = new ArrayList<>();
+            while (pageIterator.hasNext()) {
+                // Overlap rows are kept: issues Jira indexed late may sit before the watermark
+                commitPage(job, buffer, pageIterator.next(), bootstrap, true);
+            }
+            flush(job, buffer, bootstrap, true);
+        }
+    }
+
+    /**
+     * Downloads disjoint {@code created} windows concurrently; batches are committed one by one.
+     * Windows are not in {@code updated} order, so the watermark and the cursor only move once
+     * every window has been committed: a run that stops halfway leaves older issues behind.
+     */
+    private void runPartitioned(JiraSyncJob job) {
+        String projectJql = JiraWebClient.projectJql(job.getProjectKey());
+        LocalDateTime oldestCreated = jiraWebClient.findOldestCreated(projectJql);
+        if (oldestCreated == null) {
+            logger.warn("No issues returned from Jira for project {}", job.getProjectKey());
+            return;
+        }
+        boolean bootstrap = !jiraIssueRepository.existsByProjectKey(job.getProjectKey());
+        List<String> partitions = JqlPartitioner.byCreated(
+                projectJql, oldestCreated, LocalDateTime.now(), job.getParallelism() * partitionsPerWorker);
+        logger.info("Sync job {}: {} windows, parallelism {}", job.getId(), partitions.size(), job.getParallelism());
+
+        // The page consumer runs on this thread, no synchronization needed
+        List<JiraIssueDbEntity> newest = new ArrayList<>(1);
+        List<JiraIssueDbEntity> buffer = new ArrayList<>();
+        parallelJiraSearch.forEachPage(partitions, JiraFieldProfile.SYNC, jiraMapper::toDbEntityFromApi,
+                job.getParallelism(), page -> {
+                    commitPage(job, buffer, page, bootstrap, false);
+                    page.stream()
+                            .filter(e -> e.getUpdated() != null && e.getIssueKey() != null)
+                            .max(SyncWatermarkService.UPDATED_THEN_KEY)
+                            .filter(candidate -> newest.isEmpty()
+                                    || SyncWatermarkService.UPDATED_THEN_KEY.compare(candidate, newest.get(0)) > 0)
+                            .ifPresent(candidate -> {
+                                newest.clear();
+                                newest.add(candidate);
+                            });
+                });
+        flush(job, buffer, bootstrap, false);
+        if (!newest.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> advanceCursor(job.getId(), newest));
+        }
+    }
+
+    /**
+     * Commits the page, or during a bootstrap adds it to the buffer until a whole COPY batch is
+     * gathered: on a single page COPY is several times slower than the array upsert.
+     */
+    private void commitPage(JiraSyncJob job, List<JiraIssueDbEntity> buffer, List<JiraIssueDbEntity> page,
+                            boolean bootstrap, boolean ordered) {
+        if (!bootstrap) {
+            commitInBatches(job, page, false, ordered);
+            return;
+        }
+        buffer.addAll(page);
+        if (buffer.size() >= bootstrapBatchSize) {
+            flush(job, buffer, true, ordered);
+        }
+    }
+
+    private void flush(JiraSyncJob job, List<JiraIssueDbEntity> buffer, boolean bootstrap, boolean ordered) {
+        if (!buffer.isEmpty()) {
+            // The batches must outlive the buffer, which is reused for the next pages
+            commitInBatches(job, List.copyOf(buffer), bootstrap, ordered);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * @param ordered whether pages come in {@code (updated, key)} order, only then does every
+     *     batch move the watermark and the job cursor
+     */
+    private void commitInBatches(JiraSyncJob job, List<JiraIssueDbEntity> page, boolean bootstrap, boolean ordered) {
+        int batchSize = bootstrap ? bootstrapBatchSize : job.getBatchSize();
+        for (int i = 0; i < page.size(); i += batchSize) {
+            List<JiraIssueDbEntity> batch = page.subList(i, Math.min(i + batchSize, page.size()));
+            transactionTemplate.executeWithoutResult(status -> commitBatch(job.getId(), batch, bootstrap, ordered));
+        }
+    }
+
+    /** Saves one batch and records the progress in the same transaction. */
+    private void commitBatch(UUID jobId, List<JiraIssueDbEntity> batch, boolean bootstrap, boolean ordered) {
+        JiraSyncJob job = jobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new CancellationException("job deleted"));
+        if (job.getStatus() != JiraSyncJob.Status.RUNNING) {
+            throw new CancellationException("job is " + job.getStatus());
+        }
+
+        List<IssueSimpleDto> saved = jiraIssueService.saveIssues(batch, bootstrap);
+        if (ordered) {
+            moveCursor(job, batch);
+        }
+        job.setIssuesFetched(job.getIssuesFetched() + batch.size());
+        job.setIssuesSaved(job.getIssuesSaved() + saved.size());
+        job.setBatchesCommitted(job.getBatchesCommitted() + 1);
+        job.setHeartbeatAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    /** Moves the watermark and the cursor of a partitioned job once all its windows are stored. */
+    private void advanceCursor(UUID jobId, List<JiraIssueDbEntity> newest) {
+        JiraSyncJob job = jobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new CancellationException("job deleted"));
+        if (job.getStatus() != JiraSyncJob.Status.RUNNING) {
+            throw new CancellationException("job is " + job.getStatus());
+        }
+        moveCursor(job, newest);
+        jobRepository.save(job);
+    }
+
+    private void moveCursor(JiraSyncJob job, List<JiraIssueDbEntity> batch) {
+        watermarkService.advance(job.getProjectKey(), batch);
+        batch.stream()
+                .filter(e -> e.getUpdated() != null && e.getIssueKey() != null)
+                .max(SyncWatermarkService.UPDATED_THEN_KEY)
+                .filter(newest -> job.getCursorUpdated() == null || watermarkService.isAfter(newest, cursorOf(job)))
+                .ifPresent(newest -> {
+                    job.setCursorUpdated(newest.getUpdated());
+                    job.setCursorIssueKey(newest.getIssueKey());
+                });
+    }
+
+    private void finish(UUID jobId, JiraSyncJob.Status status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findByIdForUpdate(jobId).ifPresent(job -> {
+            if (job.getStatus() != JiraSyncJob.Status.RUNNING) {
+                return; // Cancelled in the meantime
+            }
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            logger.info("Sync job {} for project {} {}: {} fetched, {} saved",
+                    jobId, job.getProjectKey(), status, job.getIssuesFetched(), job.getIssuesSaved());
+        }));
+    }
+
+    // ================== PRIVATE HELPER METHODS ==================
+
+    private SyncJobDto existingJob(JiraSyncJob active) {
+        logger.info("Sync job {} already active for project {}", active.getId(), active.getProjectKey());
+        if (active.getStatus() == JiraSyncJob.Status.RUNNING) {
+            resumeIfStale(active.getId());
+        }
+        return toDto(active);
+    }
+
+    private SyncJobDto existingJob(String projectKey, DataIntegrityViolationException conflict) {
+        return jobRepository.findFirstByProjectKeyAndStatusIn(projectKey, ACTIVE)
+                .map(this::existingJob)
+                .orElseThrow(() -> conflict);
+    }
+
+    private static JiraSyncWatermark cursorOf(JiraSyncJob job) {
+        if (job.getCursorUpdated() == null || job.getCursorIssueKey() == null) {
+            return null;
+        }
+        return JiraSyncWatermark.builder()
+                .projectKey(job.getProjectKey())
+                .lastUpdated(job.getCursorUpdated())
+                .lastIssueKey(job.getCursorIssueKey())
+                .build();
+    }
+
+    private SyncJobDto toDto(JiraSyncJob job) {
+        Double issuesPerSecond = null;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.getStartedAt(), end).toMillis();
+            if (millis > 0) {
+                issuesPerSecond = job.getIssuesFetched() * 1000.0 / millis;
+            }
+        }
+        return SyncJobDto.builder()
+                .id(job.getId())
+                .projectKey(job.getProjectKey())
+                .status(job.getStatus().name())
+                .fullSync(job.isFullSync())
+                .parallelism(job.getParallelism())
+                .issuesFetched(job.getIssuesFetched())
+                .issuesSaved(job.getIssuesSaved())
+                .batchesCommitted(job.getBatchesCommitted())
+                .issuesPerSecond(issuesPerSecond)
+                .cursorUpdated(job.getCursorUpdated())
+                .cursorIssueKey(job.getCursorIssueKey())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package org.project.jirafetchservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.project.jirafetchservice.client.SyncLane;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Admits synchronization work into one of two lanes, each with its own concurrency budget, so
+ * that bulk syncs can never take the DB connections and Jira permits interactive requests need.
+ * Inside the lane the work's Jira calls carry the lane, and the shared
+ * {@code AdaptiveConcurrencyLimiter} serves interactive calls first.
+ *
+ * <p>Time spent waiting for admission is exported as {@code jira.sync.lane.queue.latency},
+ * tagged by lane, next to the {@code jira.sync.lane.active} and {@code jira.sync.lane.queued}
+ * gauges.
+ */
+@Component
+public class SyncLaneExecutor {
+
+    private final Map<SyncLane, Lane> lanes = new EnumMap<>(SyncLane.class);
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jira-sync-", 0).factory());
+
+    public SyncLaneExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${jira.sync.lanes.interactive.concurrency:16}") int interactiveConcurrency,
+            @Value("${jira.sync.lanes.bulk.concurrency:3}") int bulkConcurrency) {
+        lanes.put(SyncLane.INTERACTIVE, new Lane(SyncLane.INTERACTIVE, interactiveConcurrency, meterRegistry));
+        lanes.put(SyncLane.BULK, new Lane(SyncLane.BULK, bulkConcurrency, meterRegistry));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Runs {@code work} on the calling thread once the lane admits it. Work started from inside a
+     * lane runs right away, in the lane already held, so nested calls cannot deadlock.
+     */
+    public <T> T call(SyncLane lane, Supplier<T> work) {
+        if (SyncLane.isAssigned()) {
+            return work.get();
+        }
+        Lane admitted = lanes.get(lane);
+        admitted.acquire();
+        try {
+            return lane.run(work);
+        } finally {
+            admitted.release();
+        }
+    }
+
+    /** Runs {@code work} on its own virtual thread once the lane admits it. */
+    public CompletableFuture<Void> execute(SyncLane lane, Runnable work) {
+        return CompletableFuture.runAsync(() -> call(lane, () -> {
+            work.run();
+            return null;
+        }), executor);
+    }
+
+    private static final class Lane {
+
+        private final Semaphore permits;
+        private final Timer queueLatency;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private Lane(SyncLane lane, int concurrency, MeterRegistry meterRegistry) {
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            this.permits = new Semaphore(Math.max(1, concurrency), true);
+            this.queueLatency = Timer.builder("jira.sync.lane.queue.latency")
+                    .description("Time sync work waited for admission into its lane")
+                    .tag("lane", tag)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            Gauge.builder("jira.sync.lane.active", active, AtomicInteger::get)
+                    .description("Sync work currently running in the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("jira.sync.lane.queued", queued, AtomicInteger::get)
+                    .description("Sync work waiting for admission into the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+
+        private void acquire() {
+            long start = System.nanoTime();
+            queued.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a sync lane", e);
+            } finally {
+                queued.decrementAndGet();
+                queueLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            active.incrementAndGet();
+        }
+
+        private void release() {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.project.jirafetchservice.service;
+
+import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.entity.JiraSyncWatermark;
+import org.project.jirafetchservice.repository.JiraSyncWatermarkRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * Keeps track of the per-project high-watermark used for incremental synchronization.
+ *
+ * <p>JQL dates only have minute precision, and Jira may index an issue some time after its
+ * {@code updated} date, so the incremental query re-reads the watermark's minute plus a
+ * configurable overlap. The re-read issues go through the save path again, whose fingerprints
+ * skip the ones already stored; {@link #isAfter} only keeps the watermark moving forward, using
+ * the issue key as tie-break for identical timestamps.
+ */
+@Service
+public class SyncWatermarkService {
+
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    /** Orders issues the way the incremental JQL does: updated first, then issue key. */
+    static final Comparator<JiraIssueDbEntity> UPDATED_THEN_KEY = Comparator
+            .comparing(JiraIssueDbEntity::getUpdated, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(JiraIssueDbEntity::getIssueKey, SyncWatermarkService::compareIssueKeys);
+
+    private final JiraSyncWatermarkRepository watermarkRepository;
+    private final long overlapMinutes;
+
+    public SyncWatermarkService(
+            JiraSyncWatermarkRepository watermarkRepository,
+            @Value("${jira.sync.watermark-overlap-minutes:1}") long overlapMinutes) {
+        this.watermarkRepository = watermarkRepository;
+        this.overlapMinutes = overlapMinutes;
+    }
+
+    public Optional<JiraSyncWatermark> find(String projectKey) {
+        return watermarkRepository.findById(projectKey);
+    }
+
+    /** JQL returning all of the project's issues in the order used by the watermark. */
+    public String orderedProjectJql(String projectKey) {
+        return JiraWebClient.projectJql(projectKey) + " ORDER BY updated ASC, key ASC";
+    }
+
+    /** JQL returning the project's issues changed since the watermark, oldest first. */
+    public String incrementalJql(String projectKey, JiraSyncWatermark watermark) {
+        LocalDateTime from = watermark.getLastUpdated().minusMinutes(overlapMinutes);
+        return JiraWebClient.projectJql(projectKey)
+                + " AND updated >= \"" + JQL_DATE.format(from) + "\""
+                + " ORDER BY updated ASC, key ASC";
+    }
+
+    /** Whether the entity is strictly newer than the watermark in {@code (updated, key)} order. */
+    public boolean isAfter(JiraIssueDbEntity entity, JiraSyncWatermark watermark) {
+        if (entity.getUpdated() == null) {
+            return true;
+        }
+        int byUpdated = entity.getUpdated().compareTo(watermark.getLastUpdated());
+        return byUpdated > 0 || (byUpdated == 0 && compareIssueKeys(entity.getIssueKey(), watermark.getLastIssueKey()) > 0);
+    }
+
+    /**
+     * Moves the project's watermark forward to the newest of the given entities. Never moves it
+     * backwards, so pages may be applied in any order.
+     */
+    public void advance(String projectKey, Collection<JiraIssueDbEntity> entities) {
+        Optional<JiraIssueDbEntity> newest = entities.stream()
+                .filter(e -> e.getUpdated() != null && e.getIssueKey() != null)
+                .max(UPDATED_THEN_KEY);
+        if (newest.isEmpty()) {
+            return;
+        }
+
+        JiraSyncWatermark watermark = watermarkRepository.findById(projectKey).orElse(null);
+        JiraIssueDbEntity candidate = newest.get();
+        if (watermark != null && !isAfter(candidate, watermark)) {
+            return;
+        }
+        if (watermark == null) {
+            watermark = JiraSyncWatermark.builder().projectKey(projectKey).build();
+        }
+        watermark.setLastUpdated(candidate.getUpdated());
+        watermark.setLastIssueKey(candidate.getIssueKey());
+        watermark.setSyncedAt(LocalDateTime.now());
+        watermarkRepository.save(watermark);
+    }
+
+    /** Compares keys of the same project numerically (ABC-9 before ABC-10). */
+    static int compareIssueKeys(String left, String right) {
+        if (left.length() != right.length()) {
+            return Integer.compare(left.length(), right.length());
+        }
+        return left.compareTo(right);
+    }
+}
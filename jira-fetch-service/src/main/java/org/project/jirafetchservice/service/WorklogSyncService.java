@@ -0,0 +1,280 @@
+package org.project.jirafetchservice.service;
+
+import org.project.issueevents.events.WorklogUpsertedEvent;
+import org.project.jirafetchservice.client.JiraFieldProfile;
+import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.client.SyncLane;
+import org.project.jirafetchservice.dto.WorklogSyncDto;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.jirapi.JiraWorklogChangeResponse;
+import org.project.jirafetchservice.jirapi.JiraWorklogResponse;
+import org.project.jirafetchservice.kafka.JiraWorklogEventProducer;
+import org.project.jirafetchservice.mapper.JiraDateParser;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraWorklogRepository;
+import org.project.jirafetchservice.repository.JiraWorklogRepository.IssueRef;
+import org.project.jirafetchservice.repository.WorklogRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Incremental worklog ingestion from Jira's "worklogs updated/deleted since" feeds.
+ *
+ * <p>Each feed page is fetched outside any transaction, then stored in {@code jira_worklog}
+ * together with the feed cursor and the events of the worklogs that actually changed. A crash
+ * therefore replays at most one page. Worklogs of issues unknown locally trigger a sync of those
+ * issues first, so that every row carries its issue and project key.
+ */
+@Service
+public class WorklogSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorklogSyncService.class);
+    private static final String UPDATED_FEED = "updated";
+    private static final String DELETED_FEED = "deleted";
+    private static final int ISSUE_CHUNK_SIZE = 100;
+
+    private final JiraWebClient jiraWebClient;
+    private final JiraWorklogRepository worklogRepository;
+    private final JiraWorklogEventProducer eventProducer;
+    private final JiraIssueService jiraIssueService;
+    private final JiraMapper jiraMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncLaneExecutor laneExecutor;
+    private final boolean scheduleEnabled;
+    private final Duration initialLookback;
+    // Concurrent runs would read the same cursor and publish every page twice
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public WorklogSyncService(
+            JiraWebClient jiraWebClient,
+            JiraWorklogRepository worklogRepository,
+            JiraWorklogEventProducer eventProducer,
+            JiraIssueService jiraIssueService,
+            JiraMapper jiraMapper,
+            TransactionTemplate transactionTemplate,
+            SyncLaneExecutor laneExecutor,
+            @Value("${jira.worklogs.schedule-enabled:true}") boolean scheduleEnabled,
+            @Value("${jira.worklogs.initial-lookback-days:90}") long initialLookbackDays) {
+        this.jiraWebClient = jiraWebClient;
+        this.worklogRepository = worklogRepository;
+        this.eventProducer = eventProducer;
+        this.jiraIssueService = jiraIssueService;
+        this.jiraMapper = jiraMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.laneExecutor = laneExecutor;
+        this.scheduleEnabled = scheduleEnabled;
+        this.initialLookback = Duration.ofDays(initialLookbackDays);
+    }
+
+    @Scheduled(fixedDelayString = "${jira.worklogs.sync-interval-ms:300000}",
+            initialDelayString = "${jira.worklogs.initial-delay-ms:60000}")
+    public void scheduledSync() {
+        if (!scheduleEnabled) {
+            return;
+        }
+        try {
+            synchronize();
+        } catch (Exception e) {
+            logger.warn("Worklog synchronization failed, retried on next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies every worklog change since the stored cursors, in the bulk lane; concurrent callers
+     * wait for each other.
+     */
+    public WorklogSyncDto synchronize() {
+        return laneExecutor.call(SyncLane.BULK, this::doSynchronize);
+    }
+
+    private WorklogSyncDto doSynchronize() {
+        runLock.lock();
+        try {
+            WorklogSyncDto result = new WorklogSyncDto();
+            syncUpdated(result);
+            syncDeleted(result);
+            logger.info("Worklog sync: {} fetched, {} changed, {} deleted",
+                    result.getWorklogsFetched(), result.getWorklogsChanged(), result.getWorklogsDeleted());
+            return result;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // ================== FEEDS ==================
+
+    private void syncUpdated(WorklogSyncDto result) {
+        long since = cursor(UPDATED_FEED);
+        while (true) {
+            JiraWorklogChangeResponse page = jiraWebClient.getUpdatedWorklogs(since);
+            long until = nextCursor(page, since);
+
+            List<JiraWorklogResponse> worklogs = fetchWorklogs(changedIds(page));
+            Map<String, IssueRef> issues = resolveIssues(worklogs, result);
+            List<WorklogRow> rows = toRows(worklogs, issues);
+
+            int changed = transactionTemplate.execute(status -> {
+                Set<Long> changedIds = worklogRepository.upsert(rows);
+                eventProducer.publish(rows.stream()
+                        .filter(row -> changedIds.contains(row.worklogId()))
+                        .map(row -> toEvent(row, false))
+                        .toList());
+                worklogRepository.saveCursor(UPDATED_FEED, until);
+                return changedIds.size();
+            });
+
+            result.setWorklogsFetched(result.getWorklogsFetched() + rows.size());
+            result.setWorklogsChanged(result.getWorklogsChanged() + changed);
+            result.setUpdatedCursor(Instant.ofEpochMilli(until));
+            if (page.isLastPage() || until == since) {
+                return;
+            }
+            since = until;
+        }
+    }
+
+    private void syncDeleted(WorklogSyncDto result) {
+        long since = cursor(DELETED_FEED);
+        while (true) {
+            JiraWorklogChangeResponse page = jiraWebClient.getDeletedWorklogs(since);
+            long until = nextCursor(page, since);
+            List<Long> ids = changedIds(page);
+
+            int deleted = transactionTemplate.execute(status -> {
+                // Tombstones keep the last known values so that consumers can subtract them
+                List<WorklogRow> rows = worklogRepository.delete(ids);
+                eventProducer.publish(rows.stream().map(row -> toEvent(row, true)).toList());
+                worklogRepository.saveCursor(DELETED_FEED, until);
+                return rows.size();
+            });
+
+            result.setWorklogsDeleted(result.getWorklogsDeleted() + deleted);
+            result.setDeletedCursor(Instant.ofEpochMilli(until));
+            if (page.isLastPage() || until == since) {
+                return;
+            }
+            since = until;
+        }
+    }
+
+    /** Stored cursor of the feed, or the configured look-back on the first run. */
+    private long cursor(String feed) {
+        Long stored = transactionTemplate.execute(status -> worklogRepository.findCursor(feed));
+        return stored != null ? stored : Instant.now().minus(initialLookback).toEpochMilli();
+    }
+
+    private static long nextCursor(JiraWorklogChangeResponse page, long since) {
+        return page.getUntil() != null ? Math.max(since, page.getUntil()) : since;
+    }
+
+    private static List<Long> changedIds(JiraWorklogChangeResponse page) {
+        return page.getValues().stream()
+                .map(JiraWorklogChangeResponse.Change::getWorklogId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    private List<JiraWorklogResponse> fetchWorklogs(List<Long> ids) {
+        List<JiraWorklogResponse> worklogs = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += JiraWebClient.MAX_WORKLOG_IDS) {
+            worklogs.addAll(jiraWebClient.getWorklogs(
+                    ids.subList(i, Math.min(i + JiraWebClient.MAX_WORKLOG_IDS, ids.size()))));
+        }
+        return worklogs;
+    }
+
+    // ================== ISSUES ==================
+
+    /**
+     * Issue keys by Jira issue id. Issues not stored yet are fetched and saved through the regular
+     * sync path; issues Jira no longer returns are left out.
+     */
+    private Map<String, IssueRef> resolveIssues(List<JiraWorklogResponse> worklogs, WorklogSyncDto result) {
+        Set<String> issueIds = new LinkedHashSet<>();
+        for (JiraWorklogResponse worklog : worklogs) {
+            if (worklog.getIssueId() != null) {
+                issueIds.add(worklog.getIssueId());
+            }
+        }
+        Map<String, IssueRef> issues =
+                new HashMap<>(transactionTemplate.execute(status -> worklogRepository.findIssues(issueIds)));
+
+        List<String> unknown = issueIds.stream().filter(id -> !issues.containsKey(id)).toList();
+        for (int i = 0; i < unknown.size(); i += ISSUE_CHUNK_SIZE) {
+            List<String> chunk = unknown.subList(i, Math.min(i + ISSUE_CHUNK_SIZE, unknown.size()));
+            // Issues deleted meanwhile are left out, their worklogs keep no issue key
+            List<JiraIssueDbEntity> entities = jiraWebClient.searchByKeysAsync(
+                    chunk, JiraFieldProfile.SYNC, jiraMapper::toDbEntityFromApi).join();
+            transactionTemplate.executeWithoutResult(status -> jiraIssueService.saveIssues(entities, false));
+            for (JiraIssueDbEntity entity : entities) {
+                issues.put(entity.getJiraId(), new IssueRef(entity.getIssueKey(), entity.getProjectKey()));
+            }
+            result.setIssuesFetched(result.getIssuesFetched() + entities.size());
+        }
+        return issues;
+    }
+
+    // ================== MAPPING ==================
+
+    private List<WorklogRow> toRows(List<JiraWorklogResponse> worklogs, Map<String, IssueRef> issues) {
+        // Keyed by id: one statement must not touch the same row twice
+        Map<Long, WorklogRow> rows = new LinkedHashMap<>();
+        for (JiraWorklogResponse worklog : worklogs) {
+            // Started is in the author's zone: rows and events carry it as a UTC instant
+            OffsetDateTime started = JiraDateParser.parseWithOffset(worklog.getStarted());
+            if (worklog.getId() == null || worklog.getIssueId() == null || started == null) {
+                logger.warn("Skipping malformed worklog {} of issue {}", worklog.getId(), worklog.getIssueId());
+                continue;
+            }
+            IssueRef issue = issues.get(worklog.getIssueId());
+            JiraWorklogResponse.Author author = worklog.getAuthor();
+            long id = Long.parseLong(worklog.getId());
+            rows.put(id, new WorklogRow(
+                    id,
+                    worklog.getIssueId(),
+                    issue != null ? issue.issueKey() : null,
+                    issue != null ? issue.projectKey() : null,
+                    author != null ? author.getDisplayName() : null,
+                    author != null ? author.getAccountId() : null,
+                    toUtc(started),
+                    worklog.getTimeSpentSeconds() != null ? worklog.getTimeSpentSeconds() : 0L,
+                    toUtc(JiraDateParser.parseWithOffset(worklog.getUpdated()))));
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    private static LocalDateTime toUtc(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime() : null;
+    }
+
+    private static WorklogUpsertedEvent toEvent(WorklogRow row, boolean deleted) {
+        return new WorklogUpsertedEvent(
+                String.valueOf(row.worklogId()),
+                row.projectKey(),
+                row.issueKey(),
+                row.author(),
+                row.started().toInstant(ZoneOffset.UTC),
+                row.timeSpentSeconds(),
+                deleted);
+    }
+}
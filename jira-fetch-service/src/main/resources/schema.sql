@@ -18,5 +18,122 @@ CREATE TABLE IF NOT EXISTS jira_issue (
     time_spent_seconds BIGINT,
     original_estimate_seconds BIGINT,
     remaining_estimate_seconds BIGINT,
-    story_points DECIMAL(10,1)
-);
\ No newline at end of file
+    story_points DECIMAL(10,1),
+    content_hash BIGINT,
+    event_hash BIGINT
+);
+
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS content_hash BIGINT;
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS event_hash BIGINT;
+
+CREATE TABLE IF NOT EXISTS jira_sync_watermark (
+    project_key VARCHAR(255) PRIMARY KEY,
+    last_updated TIMESTAMP NOT NULL,
+    last_issue_key VARCHAR(255) NOT NULL,
+    synced_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS jira_sync_job (
+    id UUID PRIMARY KEY,
+    project_key VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    full_sync BOOLEAN NOT NULL,
+    batch_size INT NOT NULL,
+    parallelism INT NOT NULL,
+    cursor_updated TIMESTAMP,
+    cursor_issue_key VARCHAR(255),
+    issues_fetched BIGINT NOT NULL DEFAULT 0,
+    issues_saved BIGINT NOT NULL DEFAULT 0,
+    batches_committed BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    error_message TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_jira_sync_job_project_status ON jira_sync_job (project_key, status);
+
+-- One active job per project: keep the oldest of any duplicates left by concurrent starts
+UPDATE jira_sync_job j SET status = 'CANCELLED', finished_at = now(), error_message = 'Duplicate active job'
+WHERE j.status IN ('PENDING', 'RUNNING') AND EXISTS (
+    SELECT 1 FROM jira_sync_job o
+    WHERE o.project_key = j.project_key AND o.status IN ('PENDING', 'RUNNING')
+      AND (o.created_at, o.id) < (j.created_at, j.id));
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_jira_sync_job_active_project
+    ON jira_sync_job (project_key) WHERE status IN ('PENDING', 'RUNNING');
+
+CREATE TABLE IF NOT EXISTS issue_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_jira_issue_project_updated_key ON jira_issue (project_key, updated, issue_key);
+
+CREATE TABLE IF NOT EXISTS jira_project_catalog (
+    project_key VARCHAR(255) PRIMARY KEY,
+    issue_count BIGINT NOT NULL DEFAULT 0,
+    open_count BIGINT NOT NULL DEFAULT 0,
+    resolved_count BIGINT NOT NULL DEFAULT 0,
+    last_synced_at TIMESTAMP
+);
+
+-- Bumped by every write to the project's issues, tags the local query results
+ALTER TABLE jira_project_catalog ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS jira_worklog (
+    worklog_id BIGINT PRIMARY KEY,
+    issue_id VARCHAR(255) NOT NULL,
+    issue_key VARCHAR(255),
+    project_key VARCHAR(255),
+    author VARCHAR(255),
+    author_account_id VARCHAR(255),
+    -- UTC, the author's offset is applied on ingestion
+    started TIMESTAMP NOT NULL,
+    time_spent_seconds BIGINT NOT NULL,
+    updated TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_jira_worklog_project_started ON jira_worklog (project_key, started);
+CREATE INDEX IF NOT EXISTS idx_jira_issue_jira_id ON jira_issue (jira_id);
+
+CREATE TABLE IF NOT EXISTS jira_worklog_cursor (
+    feed VARCHAR(32) PRIMARY KEY,
+    since_millis BIGINT NOT NULL,
+    synced_at TIMESTAMP
+);
+
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS status_category VARCHAR(32);
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS last_synced_at TIMESTAMP;
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS next_refresh_at TIMESTAMP;
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS change_interval_seconds BIGINT;
+
+CREATE TABLE IF NOT EXISTS jira_sync_lease (
+    project_key VARCHAR(255) PRIMARY KEY,
+    owner VARCHAR(64),
+    lease_until TIMESTAMP,
+    next_sync_at TIMESTAMP NOT NULL,
+    last_sync_at TIMESTAMP,
+    interval_seconds INT
+);
+
+CREATE INDEX IF NOT EXISTS idx_jira_sync_lease_next_sync ON jira_sync_lease (next_sync_at);
+
+CREATE TABLE IF NOT EXISTS jira_sync_instance (
+    instance_id VARCHAR(64) PRIMARY KEY,
+    heartbeat_at TIMESTAMP NOT NULL
+);
+
+-- Local full-text search. Generated, so every write path keeps it current; 'simple' because
+-- summaries mix French and English
+ALTER TABLE jira_issue ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(issue_key, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(summary, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_jira_issue_search ON jira_issue USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_jira_issue_assignee_email_updated ON jira_issue (assignee_email, updated);
@@ -0,0 +1,146 @@
+package org.project.jirafetchservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final Duration FAST = Duration.ofMillis(10);
+  private static final Duration SLOW = Duration.ofSeconds(5);
+
+  private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+    return new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), initialLimit, 1, 64, 2000);
+  }
+
+  @Test
+  void acquire_blocks_once_the_limit_is_reached() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(2);
+    limiter.acquire();
+    limiter.acquire();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiter = Thread.ofVirtual().start(() -> {
+      try {
+        limiter.acquire();
+        acquired.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(limiter.queueDepth()).isEqualTo(1);
+
+    limiter.release(FAST, false);
+    assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+    waiter.join();
+    assertThat(limiter.inFlight()).isEqualTo(2);
+  }
+
+  @Test
+  void throttled_call_halves_the_limit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(8);
+    limiter.acquire();
+    limiter.release(FAST, true);
+
+    assertThat(limiter.currentLimit()).isEqualTo(4.0);
+  }
+
+  @Test
+  void slow_call_shrinks_and_fast_call_grows_the_limit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(10);
+    limiter.acquire();
+    limiter.release(SLOW, false);
+    assertThat(limiter.currentLimit()).isEqualTo(9.0);
+
+    limiter.acquire();
+    limiter.release(FAST, false);
+    assertThat(limiter.currentLimit()).isEqualTo(9.0 + 1.0 / 9.0);
+  }
+
+  @Test
+  void limit_stays_within_bounds() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(1);
+    limiter.acquire();
+    limiter.release(FAST, true);
+
+    assertThat(limiter.currentLimit()).isEqualTo(1.0);
+  }
+
+  @Test
+  void drop_returns_the_permit_without_changing_the_limit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(1);
+    limiter.acquire();
+    limiter.drop();
+
+    assertThat(limiter.inFlight()).isZero();
+    assertThat(limiter.currentLimit()).isEqualTo(1.0);
+    limiter.acquire();
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void interrupted_waiter_takes_no_permit() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(1);
+    limiter.acquire();
+
+    Thread waiter = Thread.ofVirtual().start(() -> {
+      try {
+        limiter.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    awaitQueueDepth(limiter, 1);
+    waiter.interrupt();
+    waiter.join();
+
+    assertThat(limiter.queueDepth()).isZero();
+    assertThat(limiter.inFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void waiting_interactive_caller_goes_before_bulk_callers() throws Exception {
+    AdaptiveConcurrencyLimiter limiter = limiter(1);
+    limiter.acquire();
+    List<SyncLane> order = new CopyOnWriteArrayList<>();
+
+    Thread bulk = Thread.ofVirtual().start(() -> acquireIn(limiter, SyncLane.BULK, order));
+    awaitQueueDepth(limiter, 1);
+    Thread interactive = Thread.ofVirtual().start(() -> acquireIn(limiter, SyncLane.INTERACTIVE, order));
+    awaitQueueDepth(limiter, 2);
+
+    limiter.release(FAST, false);
+    interactive.join(1000);
+    limiter.release(FAST, false);
+    bulk.join(1000);
+
+    assertThat(order).containsExactly(SyncLane.INTERACTIVE, SyncLane.BULK);
+  }
+
+  private static void acquireIn(AdaptiveConcurrencyLimiter limiter, SyncLane lane, List<SyncLane> order) {
+    lane.run(() -> {
+      try {
+        limiter.acquire();
+        order.add(lane);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    });
+  }
+
+  private static void awaitQueueDepth(AdaptiveConcurrencyLimiter limiter, int depth) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (limiter.queueDepth() < depth && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
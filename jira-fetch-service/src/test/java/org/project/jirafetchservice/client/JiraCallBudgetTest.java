@@ -0,0 +1,94 @@
+package org.project.jirafetchservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class JiraCallBudgetTest {
+
+  private JiraCallBudget budget(double callsPerSecond) {
+    return new JiraCallBudget(new SimpleMeterRegistry(), callsPerSecond);
+  }
+
+  @Test
+  void zero_rate_disables_the_budget() throws Exception {
+    JiraCallBudget budget = budget(0);
+    long start = System.nanoTime();
+    for (int i = 0; i < 1000; i++) {
+      budget.acquire();
+    }
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+  }
+
+  @Test
+  void rate_is_split_between_instances() {
+    JiraCallBudget budget = budget(20);
+    budget.setInstanceCount(4);
+    assertThat(budget.currentRate()).isEqualTo(5.0);
+
+    budget.setInstanceCount(0);
+    assertThat(budget.currentRate()).isEqualTo(20.0);
+  }
+
+  @Test
+  void calls_beyond_the_burst_wait_for_the_next_token() throws Exception {
+    JiraCallBudget budget = budget(5);
+    for (int i = 0; i < 5; i++) {
+      budget.acquire();
+    }
+
+    long start = System.nanoTime();
+    budget.acquire();
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(150);
+  }
+
+  @Test
+  void bulk_shares_take_turns() throws Exception {
+    JiraCallBudget budget = budget(10);
+    for (int i = 0; i < 10; i++) {
+      budget.acquire();
+    }
+    List<String> order = new CopyOnWriteArrayList<>();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      threads.add(Thread.ofVirtual().start(() -> acquireAs(budget, "BIG", order)));
+    }
+    awaitWaitingShares(budget, 1);
+    Thread.sleep(20);
+    threads.add(Thread.ofVirtual().start(() -> acquireAs(budget, "SMALL", order)));
+    for (Thread thread : threads) {
+      thread.join(2000);
+    }
+
+    // SMALL is served right after BIG's first call instead of after all of them
+    assertThat(order).containsExactly("BIG", "SMALL", "BIG", "BIG");
+    assertThat(budget.waitingShares()).isZero();
+  }
+
+  private static void acquireAs(JiraCallBudget budget, String share, List<String> order) {
+    SyncLane.BULK.run(() -> SyncLane.withShare(share, () -> {
+      try {
+        budget.acquire();
+        order.add(share);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }));
+  }
+
+  private static void awaitWaitingShares(JiraCallBudget budget, int shares) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (budget.waitingShares() < shares && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package org.project.jirafetchservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JqlPartitionerTest {
+
+  private static final String BASE = "project = \"ABC\"";
+  private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @Test
+  void single_partition_returns_the_base_query() {
+    assertThat(JqlPartitioner.byCreated(BASE, FROM, FROM.plusDays(1), 1)).containsExactly(BASE);
+    assertThat(JqlPartitioner.byCreated(BASE, FROM, FROM, 8)).containsExactly(BASE);
+  }
+
+  @Test
+  void windows_are_contiguous_and_open_ended() {
+    List<String> windows = JqlPartitioner.byCreated(BASE, FROM, FROM.plusHours(4), 4);
+
+    assertThat(windows)
+        .containsExactly(
+            "(project = \"ABC\") AND created < \"2024/01/01 01:00\"",
+            "(project = \"ABC\") AND created >= \"2024/01/01 01:00\" AND created < \"2024/01/01 02:00\"",
+            "(project = \"ABC\") AND created >= \"2024/01/01 02:00\" AND created < \"2024/01/01 03:00\"",
+            "(project = \"ABC\") AND created >= \"2024/01/01 03:00\"");
+  }
+
+  @Test
+  void short_ranges_get_one_window_per_minute_at_most() {
+    assertThat(JqlPartitioner.byCreated(BASE, FROM, FROM.plusMinutes(3), 10)).hasSize(3);
+  }
+
+  @Test
+  void bounds_are_truncated_to_the_minute() {
+    List<String> windows = JqlPartitioner.byCreated(BASE, FROM.plusSeconds(45), FROM.plusMinutes(2), 2);
+
+    assertThat(windows)
+        .containsExactly(
+            "(project = \"ABC\") AND created < \"2024/01/01 00:01\"",
+            "(project = \"ABC\") AND created >= \"2024/01/01 00:01\"");
+  }
+}
@@ -0,0 +1,53 @@
+package org.project.jirafetchservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.project.jirafetchservice.jirapi.JiraIssueApiResponse;
+
+class ParallelJiraSearchTest {
+
+  // Pages are stubbed already mapped, the mapper is never called
+  private static final Function<JiraIssueApiResponse, String> KEY = JiraIssueApiResponse::getKey;
+
+  private final JiraWebClient webClient = Mockito.mock(JiraWebClient.class);
+  private final ParallelJiraSearch search = new ParallelJiraSearch(webClient);
+
+  @Test
+  void pages_of_every_query_reach_the_consumer() {
+    Mockito.doReturn(Stream.of(List.of("A-1"), List.of("A-2")))
+        .when(webClient).streamSearchPages(eq("a"), any(), any());
+    Mockito.doReturn(Stream.of(List.of("B-1")))
+        .when(webClient).streamSearchPages(eq("b"), any(), any());
+
+    List<String> keys = new ArrayList<>();
+    search.forEachPage(List.of("a", "b"), JiraFieldProfile.SYNC, KEY, 2, keys::addAll);
+
+    assertThat(keys).containsExactlyInAnyOrder("A-1", "A-2", "B-1");
+  }
+
+  @Test
+  void error_in_a_worker_is_rethrown_to_the_caller() {
+    StackOverflowError failure = new StackOverflowError("deep page");
+    Mockito.doReturn(Stream.of(List.of("A-1")))
+        .when(webClient).streamSearchPages(eq("a"), any(), any());
+    Mockito.doThrow(failure).when(webClient).streamSearchPages(eq("b"), any(), any());
+
+    CompletableFuture<Void> run = CompletableFuture.runAsync(
+        () -> search.forEachPage(List.of("a", "b"), JiraFieldProfile.SYNC, KEY, 2, page -> { }));
+
+    ExecutionException thrown = assertThrows(ExecutionException.class, () -> run.get(2, TimeUnit.SECONDS));
+    assertThat(thrown.getCause()).isSameAs(failure);
+  }
+}
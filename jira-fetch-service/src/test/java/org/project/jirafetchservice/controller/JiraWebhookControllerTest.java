@@ -0,0 +1,59 @@
+package org.project.jirafetchservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.project.jirafetchservice.service.JiraWebhookService;
+import org.springframework.http.HttpStatus;
+
+class JiraWebhookControllerTest {
+
+  private static final byte[] BODY =
+      "{\"webhookEvent\":\"jira:issue_deleted\",\"issue\":{\"key\":\"ABC-1\"}}".getBytes(StandardCharsets.UTF_8);
+
+  private final JiraWebhookService webhookService = Mockito.mock(JiraWebhookService.class);
+
+  private JiraWebhookController controller(String secret, boolean allowUnsigned) {
+    return new JiraWebhookController(webhookService, new ObjectMapper(), secret, allowUnsigned);
+  }
+
+  @Test
+  void webhooks_are_rejected_when_no_secret_is_configured() {
+    assertThat(controller("", false).receive(BODY, null).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    assertThat(controller("", false).receive(BODY, "sha256=00").getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    verify(webhookService, never()).accept(any());
+  }
+
+  @Test
+  void unsigned_webhooks_are_accepted_only_when_explicitly_allowed() {
+    assertThat(controller("", true).receive(BODY, null).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    verify(webhookService).accept(any());
+  }
+
+  @Test
+  void signature_must_match_the_secret() throws Exception {
+    JiraWebhookController controller = controller("s3cret", false);
+
+    assertThat(controller.receive(BODY, null).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    assertThat(controller.receive(BODY, sign("other")).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    verify(webhookService, never()).accept(any());
+
+    assertThat(controller.receive(BODY, sign("s3cret")).getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    verify(webhookService).accept(any());
+  }
+
+  private static String sign(String secret) throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+    return "sha256=" + HexFormat.of().formatHex(mac.doFinal(BODY));
+  }
+}
@@ -0,0 +1,99 @@
+package org.project.jirafetchservice.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class JiraDateParserTest {
+
+  private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+  @Test
+  void parses_the_jira_format() {
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00.000+0100")).isEqualTo(MORNING);
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00.000-0500")).isEqualTo(MORNING);
+  }
+
+  @Test
+  void parses_zulu_and_colon_offsets() {
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00Z")).isEqualTo(MORNING);
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00+01:00")).isEqualTo(MORNING);
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00-05:30")).isEqualTo(MORNING);
+    assertThat(JiraDateParser.parse("2024-01-15T10:30:00+01")).isEqualTo(MORNING);
+  }
+
+  @Test
+  void parses_without_seconds() {
+    assertThat(JiraDateParser.parse("2024-01-15T10:30Z")).isEqualTo(MORNING);
+    assertThat(JiraDateParser.parse("2024-01-15T10:30+01:00")).isEqualTo(MORNING);
+  }
+
+  @Test
+  void parses_fractions_of_one_to_nine_digits() {
+    String digits = "123456789";
+    int[] nanos = {
+      100_000_000, 120_000_000, 123_000_000, 123_400_000, 123_450_000,
+      123_456_000, 123_456_700, 123_456_780, 123_456_789
+    };
+    for (int length = 1; length <= 9; length++) {
+      String text = "2024-01-15T10:30:00." + digits.substring(0, length) + "Z";
+
+      assertThat(JiraDateParser.parse(text)).as(text).isEqualTo(MORNING.withNano(nanos[length - 1]));
+    }
+  }
+
+  @Test
+  void parses_february_29_of_leap_years_only() {
+    assertThat(JiraDateParser.parse("2024-02-29T00:00:00Z")).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+    assertThat(JiraDateParser.parse("2000-02-29T00:00:00Z")).isEqualTo(LocalDateTime.of(2000, 2, 29, 0, 0));
+    assertThat(JiraDateParser.parse("2023-02-29T00:00:00Z")).isNull();
+    assertThat(JiraDateParser.parse("1900-02-29T00:00:00Z")).isNull();
+  }
+
+  @Test
+  void malformed_input_returns_null() {
+    String[] malformed = {
+      null,
+      "",
+      "not a date",
+      "2024-01-15",
+      "2024-01-15T10:30:00",
+      "2024-01-15 10:30:00Z",
+      "2024/01/15T10:30:00Z",
+      "2024-13-15T10:30:00Z",
+      "2024-00-15T10:30:00Z",
+      "2024-04-31T10:30:00Z",
+      "2024-01-15T24:00:00Z",
+      "2024-01-15T10:60:00Z",
+      "2024-01-15T10:30:60Z",
+      "2024-01-15T10:30:00.Z",
+      "2024-01-15T10:30:00.1234567890Z",
+      "2024-01-15T10:30:00Zx",
+      "2024-01-15T10:30:00+19:00",
+      "2024-01-15T10:30:00+01:0",
+      "2024-01-15T10:30:00+01:60",
+      "2024-01-15T10:30:00+0100x",
+      "2024-01-15T10:30:00+01:00Z"
+    };
+    for (String text : malformed) {
+      assertThat(JiraDateParser.parse(text)).as(text).isNull();
+      assertThat(JiraDateParser.parseWithOffset(text)).as(text).isNull();
+    }
+  }
+
+  @Test
+  void parse_with_offset_keeps_the_offset() {
+    OffsetDateTime parsed = JiraDateParser.parseWithOffset("2024-01-15T10:30:00.000+0100");
+
+    assertThat(parsed).isEqualTo(OffsetDateTime.of(MORNING, ZoneOffset.ofHours(1)));
+    assertThat(parsed.toInstant()).isEqualTo(Instant.parse("2024-01-15T09:30:00Z"));
+    assertThat(JiraDateParser.parseWithOffset("2024-01-15T10:30Z"))
+        .isEqualTo(OffsetDateTime.of(MORNING, ZoneOffset.UTC));
+    assertThat(JiraDateParser.parseWithOffset("2024-01-15T10:30:00-05:30:15"))
+        .isEqualTo(OffsetDateTime.of(MORNING, ZoneOffset.ofHoursMinutesSeconds(-5, -30, -15)));
+  }
+}
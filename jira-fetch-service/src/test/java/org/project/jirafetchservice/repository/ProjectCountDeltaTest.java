@@ -0,0 +1,55 @@
+package org.project.jirafetchservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ProjectCountDeltaTest {
+
+  @Test
+  void added_issues_count_as_open_or_resolved() {
+    ProjectCountDelta delta = new ProjectCountDelta("ABC");
+    delta.added(false);
+    delta.added(false);
+    delta.added(true);
+
+    assertThat(delta.getProjectKey()).isEqualTo("ABC");
+    assertThat(delta.getIssues()).isEqualTo(3);
+    assertThat(delta.getOpen()).isEqualTo(2);
+    assertThat(delta.getResolved()).isEqualTo(1);
+  }
+
+  @Test
+  void removed_issues_are_subtracted() {
+    ProjectCountDelta delta = new ProjectCountDelta("ABC");
+    delta.removed(false);
+    delta.removed(true);
+
+    assertThat(delta.getIssues()).isEqualTo(-2);
+    assertThat(delta.getOpen()).isEqualTo(-1);
+    assertThat(delta.getResolved()).isEqualTo(-1);
+  }
+
+  @Test
+  void resolving_and_reopening_move_between_counts() {
+    ProjectCountDelta delta = new ProjectCountDelta("ABC");
+    delta.moved(false, true);
+    delta.moved(false, true);
+    delta.moved(true, false);
+
+    assertThat(delta.getIssues()).isZero();
+    assertThat(delta.getOpen()).isEqualTo(-1);
+    assertThat(delta.getResolved()).isEqualTo(1);
+  }
+
+  @Test
+  void unchanged_state_moves_nothing() {
+    ProjectCountDelta delta = new ProjectCountDelta("ABC");
+    delta.moved(false, false);
+    delta.moved(true, true);
+
+    assertThat(delta.getIssues()).isZero();
+    assertThat(delta.getOpen()).isZero();
+    assertThat(delta.getResolved()).isZero();
+  }
+}
@@ -0,0 +1,74 @@
+package org.project.jirafetchservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.project.jirafetchservice.kafka.JiraIssueEventProducer;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class IssueEventReplayServiceTest {
+
+  private final JiraIssueRepository issueRepository = Mockito.mock(JiraIssueRepository.class);
+  private final SyncLaneExecutor laneExecutor = new SyncLaneExecutor(new SimpleMeterRegistry(), 1, 1);
+
+  // No retention: a replay is dropped as soon as it has finished
+  private final IssueEventReplayService service = new IssueEventReplayService(
+      issueRepository,
+      Mockito.mock(JiraMapper.class),
+      Mockito.mock(JiraIssueEventProducer.class),
+      new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+      laneExecutor,
+      500,
+      1000,
+      0,
+      100);
+
+  @AfterEach
+  void tearDown() {
+    laneExecutor.shutdown();
+  }
+
+  @Test
+  void finished_replays_are_evicted_after_the_retention() throws Exception {
+    Mockito.when(issueRepository.findPageAfter(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+
+    UUID jobId = service.start("ABC", null, null, null, null).getId();
+
+    awaitEvicted(jobId);
+  }
+
+  @Test
+  void running_replays_are_kept() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Mockito.when(issueRepository.findPageAfter(any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+      release.await(2, TimeUnit.SECONDS);
+      return List.of();
+    });
+
+    UUID jobId = service.start("ABC", null, null, null, null).getId();
+    Mockito.verify(issueRepository, Mockito.timeout(2000)).findPageAfter(any(), any(), any(), any(), any(), any());
+
+    assertThat(service.find(jobId)).hasValueSatisfying(job -> assertThat(job.getStatus()).isEqualTo("RUNNING"));
+    release.countDown();
+    awaitEvicted(jobId);
+  }
+
+  private void awaitEvicted(UUID jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (service.find(jobId).isPresent() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(service.find(jobId)).isEmpty();
+  }
+}
@@ -0,0 +1,59 @@
+package org.project.jirafetchservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IssueKeySetTest {
+
+  @Test
+  void counts_each_key_once() {
+    IssueKeySet keys = new IssueKeySet("ABC");
+    keys.add("ABC-1");
+    keys.add("ABC-1");
+    keys.add("ABC-42");
+
+    assertThat(keys.size()).isEqualTo(2);
+    assertThat(keys.contains("ABC-1")).isTrue();
+    assertThat(keys.contains("ABC-42")).isTrue();
+    assertThat(keys.contains("ABC-2")).isFalse();
+  }
+
+  @Test
+  void keys_of_other_forms_are_kept_as_well() {
+    IssueKeySet keys = new IssueKeySet("ABC");
+    String[] others = {"XYZ-1", "ABC-1a", "ABC-", "ABC-1234567890", "ABCD-1"};
+    for (String key : others) {
+      keys.add(key);
+      keys.add(key);
+    }
+
+    assertThat(keys.size()).isEqualTo(others.length);
+    for (String key : others) {
+      assertThat(keys.contains(key)).as(key).isTrue();
+    }
+    assertThat(keys.contains("ABC-1")).isFalse();
+    assertThat(keys.contains("XYZ-2")).isFalse();
+  }
+
+  @Test
+  void numbered_and_other_keys_do_not_mix() {
+    IssueKeySet keys = new IssueKeySet("ABC");
+    keys.add("ABC-7");
+    keys.add("XYZ-7");
+
+    assertThat(keys.size()).isEqualTo(2);
+    assertThat(keys.contains("ABC-7")).isTrue();
+    assertThat(keys.contains("XYZ-7")).isTrue();
+    assertThat(keys.contains("ABC-07")).isTrue();
+  }
+
+  @Test
+  void accepts_nine_digit_issue_numbers() {
+    IssueKeySet keys = new IssueKeySet("ABC");
+    keys.add("ABC-999999999");
+
+    assertThat(keys.contains("ABC-999999999")).isTrue();
+    assertThat(keys.size()).isEqualTo(1);
+  }
+}
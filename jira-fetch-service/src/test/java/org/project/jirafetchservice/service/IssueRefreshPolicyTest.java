@@ -0,0 +1,117 @@
+package org.project.jirafetchservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.repository.IssueFingerprintView;
+
+class IssueRefreshPolicyTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  // alpha 0.5, ttl factor 0.25, 1 minute to 6 hours, done issues 1 to 7 days
+  private final IssueRefreshPolicy policy = new IssueRefreshPolicy(0.5, 0.25, 60, 21600, 86400, 604800);
+
+  @Test
+  void new_issue_starts_from_its_age_at_last_update() {
+    JiraIssueDbEntity issue = issue(NOW.minusHours(10), NOW.minusHours(1), null);
+    policy.apply(issue, null, NOW);
+
+    assertThat(issue.getChangeIntervalSeconds()).isEqualTo(9 * 3600);
+    assertThat(issue.getLastSyncedAt()).isEqualTo(NOW);
+    assertThat(issue.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(9 * 3600 / 4));
+  }
+
+  @Test
+  void observed_change_feeds_the_average() {
+    JiraIssueDbEntity issue = issue(NOW.minusDays(30), NOW, null);
+    policy.apply(issue, stored(NOW.minusSeconds(1000), 3000L), NOW);
+
+    assertThat(issue.getChangeIntervalSeconds()).isEqualTo(2000);
+    assertThat(issue.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(500));
+  }
+
+  @Test
+  void unchanged_issue_keeps_its_average_and_backs_off_while_quiet() {
+    LocalDateTime updated = NOW.minusHours(4);
+    JiraIssueDbEntity issue = issue(NOW.minusDays(30), updated, null);
+    policy.apply(issue, stored(updated, 600L), NOW);
+
+    assertThat(issue.getChangeIntervalSeconds()).isEqualTo(600);
+    assertThat(issue.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(4 * 3600 / 4));
+  }
+
+  @Test
+  void refresh_interval_stays_within_bounds() {
+    JiraIssueDbEntity busy = issue(NOW.minusDays(1), NOW, null);
+    policy.apply(busy, stored(NOW.minusSeconds(10), 10L), NOW);
+    assertThat(busy.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(60));
+
+    JiraIssueDbEntity quiet = issue(NOW.minusYears(2), NOW.minusYears(1), null);
+    policy.apply(quiet, null, NOW);
+    assertThat(quiet.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(21600));
+  }
+
+  @Test
+  void done_issues_back_off_to_days() {
+    JiraIssueDbEntity done = issue(NOW.minusDays(1), NOW, "Done");
+    policy.apply(done, stored(NOW.minusSeconds(10), 10L), NOW);
+    assertThat(done.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(86400));
+
+    JiraIssueDbEntity oldDone = issue(NOW.minusYears(2), NOW.minusYears(1), "done");
+    policy.apply(oldDone, null, NOW);
+    assertThat(oldDone.getNextRefreshAt()).isEqualTo(NOW.plusSeconds(604800));
+  }
+
+  @Test
+  void issue_is_fresh_until_its_next_refresh() {
+    assertThat(policy.isFresh(null)).isFalse();
+    assertThat(policy.isFresh(LocalDateTime.now().minusMinutes(1))).isFalse();
+    assertThat(policy.isFresh(LocalDateTime.now().plusMinutes(1))).isTrue();
+  }
+
+  private static JiraIssueDbEntity issue(LocalDateTime created, LocalDateTime updated, String statusCategory) {
+    return JiraIssueDbEntity.builder()
+        .issueKey("ABC-1")
+        .created(created)
+        .updated(updated)
+        .statusCategory(statusCategory)
+        .build();
+  }
+
+  private static IssueFingerprintView stored(LocalDateTime updated, Long changeIntervalSeconds) {
+    return new IssueFingerprintView() {
+      @Override
+      public String getIssueKey() {
+        return "ABC-1";
+      }
+
+      @Override
+      public LocalDateTime getUpdated() {
+        return updated;
+      }
+
+      @Override
+      public LocalDateTime getResolved() {
+        return null;
+      }
+
+      @Override
+      public Long getContentHash() {
+        return null;
+      }
+
+      @Override
+      public Long getEventHash() {
+        return null;
+      }
+
+      @Override
+      public Long getChangeIntervalSeconds() {
+        return changeIntervalSeconds;
+      }
+    };
+  }
+}
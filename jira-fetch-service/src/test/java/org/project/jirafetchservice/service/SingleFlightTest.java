@@ -0,0 +1,86 @@
+package org.project.jirafetchservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> flight = new SingleFlight<>();
+  private final AtomicInteger runs = new AtomicInteger();
+
+  @Test
+  void concurrent_callers_share_one_execution() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("ABC-1", () -> {
+      runs.incrementAndGet();
+      await(release);
+      return "value";
+    }));
+    awaitInFlight(1);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flight.execute("ABC-1", () -> {
+      runs.incrementAndGet();
+      return "other";
+    }));
+    Thread.sleep(50);
+    release.countDown();
+
+    assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("value");
+    assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("value");
+    assertThat(runs).hasValue(1);
+    assertThat(flight.inFlightCount()).isZero();
+  }
+
+  @Test
+  void waiting_callers_get_the_same_exception() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    IllegalStateException failure = new IllegalStateException("Jira unavailable");
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flight.execute("ABC-1", () -> {
+      await(release);
+      throw failure;
+    }));
+    awaitInFlight(1);
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flight.execute("ABC-1", () -> "other"));
+    Thread.sleep(50);
+    release.countDown();
+
+    assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasCause(failure);
+    assertThatThrownBy(second::join).isInstanceOf(CompletionException.class).hasCause(failure);
+    assertThat(flight.inFlightCount()).isZero();
+  }
+
+  @Test
+  void completed_results_are_not_cached() {
+    assertThat(flight.execute("ABC-1", () -> "v" + runs.incrementAndGet())).isEqualTo("v1");
+    assertThat(flight.execute("ABC-1", () -> "v" + runs.incrementAndGet())).isEqualTo("v2");
+    assertThat(flight.inFlightCount()).isZero();
+  }
+
+  @Test
+  void different_keys_run_independently() {
+    String outer = flight.execute("ABC-1", () -> "outer " + flight.execute("ABC-2", () -> "inner"));
+
+    assertThat(outer).isEqualTo("outer inner");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void awaitInFlight(int keys) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (flight.inFlightCount() < keys && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
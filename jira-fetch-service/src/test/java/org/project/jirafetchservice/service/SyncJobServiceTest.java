@@ -0,0 +1,166 @@
+package org.project.jirafetchservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.project.jirafetchservice.client.JiraFieldProfile;
+import org.project.jirafetchservice.client.JiraWebClient;
+import org.project.jirafetchservice.client.ParallelJiraSearch;
+import org.project.jirafetchservice.entity.JiraIssueDbEntity;
+import org.project.jirafetchservice.entity.JiraSyncJob;
+import org.project.jirafetchservice.entity.JiraSyncWatermark;
+import org.project.jirafetchservice.mapper.JiraMapper;
+import org.project.jirafetchservice.repository.JiraIssueRepository;
+import org.project.jirafetchservice.repository.JiraSyncJobRepository;
+import org.project.jirafetchservice.repository.JiraSyncWatermarkRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class SyncJobServiceTest {
+
+  private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+  private final JiraSyncJobRepository jobRepository = Mockito.mock(JiraSyncJobRepository.class);
+  private final JiraIssueRepository issueRepository = Mockito.mock(JiraIssueRepository.class);
+  private final JiraSyncWatermarkRepository watermarkRepository = Mockito.mock(JiraSyncWatermarkRepository.class);
+  private final JiraIssueService issueService = Mockito.mock(JiraIssueService.class);
+  private final JiraWebClient webClient = Mockito.mock(JiraWebClient.class);
+  private final SyncLaneExecutor laneExecutor = new SyncLaneExecutor(new SimpleMeterRegistry(), 1, 1);
+  private final AtomicReference<JiraSyncJob> stored = new AtomicReference<>();
+
+  private SyncJobService service;
+
+  @BeforeEach
+  void setUp() {
+    Mockito.when(jobRepository.save(any())).thenAnswer(invocation -> {
+      stored.set(invocation.getArgument(0));
+      return invocation.getArgument(0);
+    });
+    Mockito.when(jobRepository.findByIdForUpdate(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+    Mockito.when(issueRepository.existsByProjectKey("ABC")).thenReturn(true);
+    Mockito.when(watermarkRepository.findById("ABC")).thenReturn(Optional.of(
+        JiraSyncWatermark.builder().projectKey("ABC").lastUpdated(WATERMARK).lastIssueKey("ABC-5").build()));
+
+    service = new SyncJobService(
+        jobRepository,
+        issueRepository,
+        issueService,
+        webClient,
+        Mockito.mock(ParallelJiraSearch.class),
+        Mockito.mock(JiraMapper.class),
+        new SyncWatermarkService(watermarkRepository, 1),
+        new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+        laneExecutor,
+        4,
+        5000,
+        120);
+  }
+
+  @AfterEach
+  void tearDown() {
+    laneExecutor.shutdown();
+  }
+
+  @Test
+  void issues_re_read_in_the_overlap_are_saved() throws Exception {
+    List<JiraIssueDbEntity> page = List.of(
+        issue("ABC-3", WATERMARK.minusSeconds(30)),
+        issue("ABC-4", WATERMARK),
+        issue("ABC-5", WATERMARK),
+        issue("ABC-8", WATERMARK.plusMinutes(5)));
+    Mockito.doReturn(Stream.of(page))
+        .when(webClient).streamSearchPages(anyString(), eq(JiraFieldProfile.SYNC), any());
+
+    service.start("ABC", 100, false, 1);
+
+    ArgumentCaptor<List<JiraIssueDbEntity>> saved = ArgumentCaptor.captor();
+    verify(issueService, timeout(2000)).saveIssues(saved.capture(), eq(false));
+    assertThat(saved.getValue()).extracting(JiraIssueDbEntity::getIssueKey)
+        .containsExactly("ABC-3", "ABC-4", "ABC-5", "ABC-8");
+    awaitStatus(JiraSyncJob.Status.COMPLETED);
+    assertThat(stored.get().getCursorIssueKey()).isEqualTo("ABC-8");
+  }
+
+  @Test
+  void first_import_gathers_pages_into_one_copy_batch() throws Exception {
+    Mockito.when(issueRepository.existsByProjectKey("ABC")).thenReturn(false);
+    Mockito.when(watermarkRepository.findById("ABC")).thenReturn(Optional.empty());
+    Mockito.doReturn(Stream.of(
+            List.of(issue("ABC-1", WATERMARK), issue("ABC-2", WATERMARK)),
+            List.of(issue("ABC-3", WATERMARK.plusMinutes(1)))))
+        .when(webClient).streamSearchPages(anyString(), eq(JiraFieldProfile.SYNC), any());
+
+    service.start("ABC", 1, true, 1);
+
+    awaitStatus(JiraSyncJob.Status.COMPLETED);
+    ArgumentCaptor<List<JiraIssueDbEntity>> saved = ArgumentCaptor.captor();
+    verify(issueService).saveIssues(saved.capture(), eq(true));
+    assertThat(saved.getValue()).extracting(JiraIssueDbEntity::getIssueKey)
+        .containsExactly("ABC-1", "ABC-2", "ABC-3");
+    assertThat(stored.get().getCursorIssueKey()).isEqualTo("ABC-3");
+  }
+
+  @Test
+  void job_running_here_is_heartbeated_and_never_taken_over() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Mockito.doReturn(Stream.of(List.of(issue("ABC-8", WATERMARK.plusMinutes(5)))))
+        .when(webClient).streamSearchPages(anyString(), eq(JiraFieldProfile.SYNC), any());
+    Mockito.when(issueService.saveIssues(any(), eq(false))).thenAnswer(invocation -> {
+      release.await(2, TimeUnit.SECONDS);
+      return List.of();
+    });
+
+    UUID jobId = service.start("ABC", 100, false, 1).getId();
+    verify(issueService, timeout(2000)).saveIssues(any(), eq(false));
+
+    assertThat(service.isRunningLocally(jobId)).isTrue();
+    assertThat(service.resumeIfStale(jobId)).isFalse();
+    verify(jobRepository, never()).claimStale(any(), any(), any());
+
+    service.heartbeat();
+    verify(jobRepository).heartbeat(eq(List.of(jobId)), any(), any());
+
+    release.countDown();
+    awaitStatus(JiraSyncJob.Status.COMPLETED);
+    awaitNotRunningLocally(jobId);
+  }
+
+  private void awaitNotRunningLocally(UUID jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (service.isRunningLocally(jobId) && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(service.isRunningLocally(jobId)).isFalse();
+  }
+
+  private void awaitStatus(JiraSyncJob.Status status) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+    while (stored.get().getStatus() != status && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(stored.get().getStatus()).isEqualTo(status);
+  }
+
+  private static JiraIssueDbEntity issue(String issueKey, LocalDateTime updated) {
+    return JiraIssueDbEntity.builder().issueKey(issueKey).projectKey("ABC").updated(updated).build();
+  }
+}